@@ -65,6 +65,15 @@ public class ConfigManager {
         return properties.getProperty(key);
     }
 
+    public String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    public int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value != null && !value.trim().isEmpty() ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
     public String getEnvironment() {
         return environment;
     }
@@ -0,0 +1,47 @@
+package com.api.automation.listeners;
+
+import com.api.automation.utils.ExtentReportManager;
+import com.aventstack.extentreports.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * TestNG listener that opens an Extent test per method and closes it with the result
+ * Results are logged through ExtentReportManager.endTest, which first waits for the
+ * test's queued report events, so the node is never written by two threads at once
+ */
+public class TestListener implements ITestListener {
+
+    private static final Logger logger = LogManager.getLogger(TestListener.class);
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        ExtentReportManager.createTest(result.getMethod().getMethodName(), result.getMethod().getDescription());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        ExtentReportManager.endTest(Status.PASS, "Test passed");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        Throwable cause = result.getThrowable();
+        ExtentReportManager.endTest(Status.FAIL, "Test failed: " + (cause != null ? cause : "unknown cause"));
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        ExtentReportManager.endTest(Status.SKIP, "Test skipped");
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        logger.info("Finished {}: {} passed, {} failed, {} skipped", context.getName(),
+                context.getPassedTests().size(), context.getFailedTests().size(), context.getSkippedTests().size());
+        ExtentReportManager.flushReports();
+    }
+}
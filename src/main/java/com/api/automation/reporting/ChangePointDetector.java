@@ -0,0 +1,189 @@
+package com.api.automation.reporting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * CUSUM based change-point detector for duration and latency series
+ * Uses a permutation test to attach a significance level to each detected shift
+ * and binary segmentation to find multiple step changes in one series.
+ * The significance level is split per recursion level (Bonferroni over the up to 2^depth
+ * segments tested at that depth), so deeper splits need stronger evidence.
+ */
+public class ChangePointDetector {
+
+    private static final double DEFAULT_SIGNIFICANCE = 0.05;
+    private static final int DEFAULT_PERMUTATIONS = 1000;
+    private static final int DEFAULT_MIN_SEGMENT_SIZE = 3;
+    private static final long DEFAULT_SEED = 42L;
+
+    private final double significanceLevel;
+    private final int permutations;
+    private final int minSegmentSize;
+    private final long seed;
+
+    public ChangePointDetector() {
+        this(DEFAULT_SIGNIFICANCE, DEFAULT_PERMUTATIONS, DEFAULT_MIN_SEGMENT_SIZE, DEFAULT_SEED);
+    }
+
+    public ChangePointDetector(double significanceLevel, int permutations, int minSegmentSize, long seed) {
+        if (significanceLevel <= 0 || significanceLevel >= 1) {
+            throw new IllegalArgumentException("Significance level must be between 0 and 1: " + significanceLevel);
+        }
+        if (permutations < 1) {
+            throw new IllegalArgumentException("Permutations must be positive: " + permutations);
+        }
+        this.significanceLevel = significanceLevel;
+        this.permutations = permutations;
+        this.minSegmentSize = Math.max(2, minSegmentSize);
+        this.seed = seed;
+    }
+
+    /**
+     * Detect all significant change points in a series
+     *
+     * @param values ordered observations (e.g. durations in ms)
+     * @param labels build identifier for each observation, same size as values
+     * @return change points ordered by position in the series
+     */
+    public List<ChangePoint> detect(List<Double> values, List<String> labels) {
+        if (labels != null && labels.size() != values.size()) {
+            throw new IllegalArgumentException("Labels must match values: " + labels.size() + " != " + values.size());
+        }
+
+        double[] series = new double[values.size()];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = values.get(i);
+        }
+
+        List<ChangePoint> changePoints = new ArrayList<>();
+        segment(series, labels, 0, series.length, 0, new Random(seed), changePoints);
+        changePoints.sort((a, b) -> Integer.compare(a.index, b.index));
+        return changePoints;
+    }
+
+    /**
+     * Most recent significant change point, or null when the series is stable
+     */
+    public ChangePoint detectLatest(List<Double> values, List<String> labels) {
+        List<ChangePoint> changePoints = detect(values, labels);
+        return changePoints.isEmpty() ? null : changePoints.get(changePoints.size() - 1);
+    }
+
+    /**
+     * Binary segmentation: find the strongest shift in [from, to) and recurse on both sides
+     */
+    private void segment(double[] series, List<String> labels, int from, int to, int depth,
+                         Random random, List<ChangePoint> changePoints) {
+        int length = to - from;
+        double alpha = significanceLevel / Math.pow(2, depth);
+        // Smallest attainable p-value is 1 / (permutations + 1)
+        if (length < minSegmentSize * 2 || alpha < 1.0 / (permutations + 1.0)) {
+            return;
+        }
+
+        double mean = mean(series, from, to);
+        int candidate = -1;
+        double maxAbs = -1;
+        double observedRange = cusumRange(series, from, to, mean);
+
+        // Position of the largest |S_i| marks the last point of the old regime
+        double sum = 0;
+        for (int i = from; i < to - 1; i++) {
+            sum += series[i] - mean;
+            if (i + 1 - from >= minSegmentSize && to - (i + 1) >= minSegmentSize && Math.abs(sum) > maxAbs) {
+                maxAbs = Math.abs(sum);
+                candidate = i + 1;
+            }
+        }
+        if (candidate < 0 || observedRange == 0) {
+            return;
+        }
+
+        double pValue = permutationPValue(series, from, to, mean, observedRange, random);
+        if (pValue > alpha) {
+            return;
+        }
+
+        ChangePoint changePoint = new ChangePoint();
+        changePoint.index = candidate;
+        changePoint.build = labels != null ? labels.get(candidate) : String.valueOf(candidate);
+        changePoint.meanBefore = mean(series, from, candidate);
+        changePoint.meanAfter = mean(series, candidate, to);
+        changePoint.shiftPercent = changePoint.meanBefore != 0
+                ? ((changePoint.meanAfter - changePoint.meanBefore) * 100.0) / changePoint.meanBefore : 0.0;
+        changePoint.pValue = pValue;
+        changePoint.confidence = 1.0 - pValue;
+        changePoint.direction = changePoint.meanAfter > changePoint.meanBefore ? "DEGRADING" : "IMPROVING";
+        changePoints.add(changePoint);
+
+        segment(series, labels, from, candidate, depth + 1, random, changePoints);
+        segment(series, labels, candidate, to, depth + 1, random, changePoints);
+    }
+
+    /**
+     * Permutation test: fraction of reorderings of the segment whose CUSUM range is at least
+     * as large as the observed one. Reordering keeps the values (and so the mean) and only
+     * destroys their position, which is exactly the null hypothesis of no shift.
+     */
+    private double permutationPValue(double[] series, int from, int to, double mean,
+                                     double observedRange, Random random) {
+        double[] permuted = new double[to - from];
+        System.arraycopy(series, from, permuted, 0, permuted.length);
+
+        int atLeastAsExtreme = 0;
+        for (int p = 0; p < permutations; p++) {
+            // Fisher-Yates shuffle in place; each pass starts from the previous permutation
+            for (int i = permuted.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                double swap = permuted[i];
+                permuted[i] = permuted[j];
+                permuted[j] = swap;
+            }
+            if (cusumRange(permuted, 0, permuted.length, mean) >= observedRange) {
+                atLeastAsExtreme++;
+            }
+        }
+        // Add-one correction counts the observed order as one of the permutations, so p > 0
+        return (atLeastAsExtreme + 1.0) / (permutations + 1.0);
+    }
+
+    private static double cusumRange(double[] series, int from, int to, double mean) {
+        double sum = 0;
+        double max = 0;
+        double min = 0;
+        for (int i = from; i < to; i++) {
+            sum += series[i] - mean;
+            max = Math.max(max, sum);
+            min = Math.min(min, sum);
+        }
+        return max - min;
+    }
+
+    private static double mean(double[] series, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += series[i];
+        }
+        return to > from ? sum / (to - from) : 0.0;
+    }
+
+    public double getSignificanceLevel() {
+        return significanceLevel;
+    }
+
+    /**
+     * A statistically significant step change in a series
+     */
+    public static class ChangePoint {
+        public int index;
+        public String build;
+        public double meanBefore;
+        public double meanAfter;
+        public double shiftPercent;
+        public double pValue;
+        public double confidence;
+        public String direction;
+    }
+}
@@ -0,0 +1,269 @@
+package com.api.automation.reporting;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming writer for the analytics HTML dashboard
+ * Emits the page section by section into a buffered writer; table rows are embedded
+ * as compact JSON arrays and rendered page by page in the browser
+ */
+public class HtmlDashboardWriter implements Closeable {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final Writer out;
+    private final int pageSize;
+
+    public HtmlDashboardWriter(Writer out, int pageSize) {
+        this.out = out;
+        this.pageSize = pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
+    }
+
+    /**
+     * Open a dashboard writer on a file, creating parent directories as needed
+     */
+    public static HtmlDashboardWriter open(Path path, int pageSize) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        return new HtmlDashboardWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), pageSize);
+    }
+
+    /**
+     * Write the complete dashboard for a report
+     */
+    public void write(TestAnalytics.TestAnalyticsReport report) throws IOException {
+        writeHeader();
+        writeSummary(report);
+        writeCategoryTable(report.categoryBreakdown, report.totalTests);
+        writeStability(report.stabilityMetrics);
+        writePerformanceTable(report.performanceTrends);
+        writeRegressionTable(report.latencyRegressions);
+        writeFooter();
+        out.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        out.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n");
+        out.write("<title>API Test Analytics Dashboard</title>\n<style>\n");
+        out.write("body { font-family: Arial, sans-serif; margin: 20px; background-color: #f5f5f5; }\n");
+        out.write(".container { max-width: 1200px; margin: 0 auto; }\n");
+        out.write(".card { background: white; padding: 20px; margin: 20px 0; border-radius: 8px; box-shadow: 0 2px 4px rgba(0,0,0,0.1); }\n");
+        out.write(".metric { display: inline-block; margin: 10px 20px; text-align: center; }\n");
+        out.write(".metric-value { font-size: 2em; font-weight: bold; color: #2196F3; }\n");
+        out.write(".metric-label { font-size: 0.9em; color: #666; }\n");
+        out.write(".pass { color: #4CAF50; }\n.fail { color: #F44336; }\n.warning { color: #FF9800; }\n");
+        out.write("table { width: 100%; border-collapse: collapse; margin: 10px 0; }\n");
+        out.write("th, td { padding: 8px; text-align: left; border-bottom: 1px solid #ddd; }\n");
+        out.write("th { background-color: #f2f2f2; }\n");
+        out.write(".pager button { margin: 0 4px; }\n");
+        out.write("</style>\n</head>\n<body>\n<div class=\"container\">\n");
+        out.write("<h1>API Test Analytics Dashboard</h1>\n<p>Generated on: ");
+        out.write(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        out.write("</p>\n");
+    }
+
+    private void writeSummary(TestAnalytics.TestAnalyticsReport report) throws IOException {
+        out.write("<div class=\"card\">\n<h2>Test Execution Summary</h2>\n");
+        writeMetric("", String.valueOf(report.totalTests), "Total Tests");
+        writeMetric(" pass", String.valueOf(report.passedTests), "Passed");
+        writeMetric(" fail", String.valueOf(report.failedTests), "Failed");
+        writeMetric("", String.format("%.1f%%", report.passRate), "Pass Rate");
+        writeMetric("", String.format("%.0fms", report.averageExecutionTime), "Avg Duration");
+        out.write("</div>\n");
+    }
+
+    private void writeStability(TestAnalytics.StabilityMetrics stability) throws IOException {
+        out.write("<div class=\"card\">\n<h2>Stability Metrics</h2>\n");
+        writeMetric("", String.format("%.1f%%", stability.consistencyScore), "Consistency Score");
+        writeMetric(" warning", String.valueOf(stability.flakyTests.size()), "Flaky Tests");
+        out.write("</div>\n");
+    }
+
+    private void writeMetric(String cssClass, String value, String label) throws IOException {
+        out.write("<div class=\"metric\"><div class=\"metric-value");
+        out.write(cssClass);
+        out.write("\">");
+        out.write(value);
+        out.write("</div><div class=\"metric-label\">");
+        out.write(label);
+        out.write("</div></div>\n");
+    }
+
+    private void writeCategoryTable(Map<String, Integer> categories, int total) throws IOException {
+        beginTable("categories", "Test Categories", "Category", "Count", "Percentage");
+        try (JsonGenerator json = rowGenerator()) {
+            json.writeStartArray();
+            for (Map.Entry<String, Integer> entry : categories.entrySet()) {
+                json.writeStartArray();
+                json.writeString(entry.getKey());
+                json.writeNumber(entry.getValue());
+                json.writeString(String.format("%.1f%%", total > 0 ? (entry.getValue() * 100.0) / total : 0.0));
+                json.writeEndArray();
+            }
+            json.writeEndArray();
+        }
+        endTable();
+    }
+
+    private void writePerformanceTable(Map<String, TestAnalytics.PerformanceTrend> trends) throws IOException {
+        beginTable("performance", "Performance Trends",
+                "Test", "Avg Duration", "Min", "Max", "Trend", "Shifted At Build");
+        try (JsonGenerator json = rowGenerator()) {
+            json.writeStartArray();
+            for (TestAnalytics.PerformanceTrend trend : trends.values()) {
+                List<ChangePointDetector.ChangePoint> changePoints = trend.changePoints;
+                json.writeStartArray();
+                json.writeString(trend.testName);
+                json.writeString(String.format("%.0fms", trend.averageDuration));
+                json.writeString(String.format("%.0fms", trend.minDuration));
+                json.writeString(String.format("%.0fms", trend.maxDuration));
+                json.writeString(trend.trendDirection);
+                json.writeString(changePoints == null || changePoints.isEmpty()
+                        ? "-" : changePoints.get(changePoints.size() - 1).build);
+                json.writeEndArray();
+            }
+            json.writeEndArray();
+        }
+        endTable();
+    }
+
+    private void writeRegressionTable(Map<String, List<ChangePointDetector.ChangePoint>> regressions) throws IOException {
+        beginTable("regressions", "Latency Regressions",
+                "Endpoint", "Build", "Before", "After", "Shift", "p-value");
+        try (JsonGenerator json = rowGenerator()) {
+            json.writeStartArray();
+            for (Map.Entry<String, List<ChangePointDetector.ChangePoint>> entry : regressions.entrySet()) {
+                for (ChangePointDetector.ChangePoint cp : entry.getValue()) {
+                    json.writeStartArray();
+                    json.writeString(entry.getKey());
+                    json.writeString(cp.build);
+                    json.writeString(String.format("%.0fms", cp.meanBefore));
+                    json.writeString(String.format("%.0fms", cp.meanAfter));
+                    // Styled cell: the renderer applies cls, so a slowdown reads red and a speedup green
+                    json.writeStartObject();
+                    json.writeStringField("text", String.format("%+.1f%%", cp.shiftPercent));
+                    json.writeStringField("cls", "DEGRADING".equals(cp.direction) ? "fail" : "pass");
+                    json.writeEndObject();
+                    json.writeString(String.format("%.3f", cp.pValue));
+                    json.writeEndArray();
+                }
+            }
+            json.writeEndArray();
+        }
+        endTable();
+    }
+
+    private void beginTable(String id, String title, String... columns) throws IOException {
+        out.write("<div class=\"card\">\n<h2>");
+        out.write(title);
+        out.write("</h2>\n<table id=\"");
+        out.write(id);
+        out.write("\"><thead><tr>");
+        for (String column : columns) {
+            out.write("<th>");
+            out.write(column);
+            out.write("</th>");
+        }
+        out.write("</tr></thead><tbody></tbody></table>\n<div class=\"pager\" data-table=\"");
+        out.write(id);
+        out.write("\"></div>\n<script type=\"application/json\" data-rows=\"");
+        out.write(id);
+        out.write("\">");
+    }
+
+    private void endTable() throws IOException {
+        out.write("</script>\n</div>\n");
+    }
+
+    /**
+     * JSON generator writing straight into the page; leaves the page writer open
+     */
+    private JsonGenerator rowGenerator() throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setCharacterEscapes(ScriptSafeEscapes.INSTANCE);
+        return generator;
+    }
+
+    private void writeFooter() throws IOException {
+        out.write("</div>\n<script>\n");
+        out.write("var PAGE_SIZE = " + pageSize + ";\n");
+        out.write("document.querySelectorAll('script[data-rows]').forEach(function (node) {\n");
+        out.write("  var rows = JSON.parse(node.textContent);\n");
+        out.write("  var id = node.getAttribute('data-rows');\n");
+        out.write("  var body = document.querySelector('#' + id + ' tbody');\n");
+        out.write("  var pager = document.querySelector('.pager[data-table=\"' + id + '\"]');\n");
+        out.write("  var pages = Math.max(1, Math.ceil(rows.length / PAGE_SIZE));\n");
+        out.write("  function render(page) {\n");
+        out.write("    body.textContent = '';\n");
+        out.write("    rows.slice(page * PAGE_SIZE, (page + 1) * PAGE_SIZE).forEach(function (row) {\n");
+        out.write("      var tr = body.insertRow();\n");
+        out.write("      row.forEach(function (cell) {\n");
+        out.write("        var td = tr.insertCell();\n");
+        out.write("        if (cell !== null && typeof cell === 'object') { td.textContent = cell.text; td.className = cell.cls; }\n");
+        out.write("        else { td.textContent = cell; }\n");
+        out.write("      });\n");
+        out.write("    });\n");
+        out.write("    pager.textContent = '';\n");
+        out.write("    if (pages === 1) { return; }\n");
+        out.write("    var prev = document.createElement('button');\n");
+        out.write("    prev.textContent = 'Prev'; prev.disabled = page === 0;\n");
+        out.write("    prev.onclick = function () { render(page - 1); };\n");
+        out.write("    var next = document.createElement('button');\n");
+        out.write("    next.textContent = 'Next'; next.disabled = page === pages - 1;\n");
+        out.write("    next.onclick = function () { render(page + 1); };\n");
+        out.write("    pager.append(prev, 'Page ' + (page + 1) + ' of ' + pages, next);\n");
+        out.write("  }\n");
+        out.write("  render(0);\n");
+        out.write("});\n");
+        out.write("</script>\n</body>\n</html>\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Escapes characters that could terminate the embedding script element
+     */
+    private static class ScriptSafeEscapes extends CharacterEscapes {
+        private static final long serialVersionUID = 1L;
+        private static final ScriptSafeEscapes INSTANCE = new ScriptSafeEscapes();
+        private final int[] escapes;
+
+        private ScriptSafeEscapes() {
+            escapes = CharacterEscapes.standardAsciiEscapesForJSON();
+            escapes['<'] = CharacterEscapes.ESCAPE_STANDARD;
+            escapes['>'] = CharacterEscapes.ESCAPE_STANDARD;
+            escapes['&'] = CharacterEscapes.ESCAPE_STANDARD;
+        }
+
+        @Override
+        public int[] getEscapeCodesForAscii() {
+            return escapes;
+        }
+
+        @Override
+        public SerializableString getEscapeSequence(int ch) {
+            return null;
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package com.api.automation.reporting;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.api.automation.utils.ObjectMapperProvider;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -19,11 +20,35 @@ import java.util.stream.Collectors;
 public class TestAnalytics {
     
     private static final Logger logger = LogManager.getLogger(TestAnalytics.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private static final String DEFAULT_BUILD = "local";
+    private static final String HISTORY_FILE_NAME = "analytics-history.json";
+    private static final int DEFAULT_HISTORY_BUILDS = 100;
     
     private List<TestExecution> testExecutions = new ArrayList<>();
-    private Map<String, List<Double>> performanceMetrics = new HashMap<>();
+    private Map<String, MetricSeries> performanceMetrics = new HashMap<>();
+    private Map<String, MetricSeries> endpointLatencies = new HashMap<>();
     private Map<String, Integer> testCategoryStats = new HashMap<>();
+    private ChangePointDetector changePointDetector = new ChangePointDetector();
+    private Path historyFile;
+    private BuildHistory persistedHistory;
+    private BuildHistory mergedHistory;
+    
+    /**
+     * Override the change-point detector (significance level, permutations)
+     */
+    public void setChangePointDetector(ChangePointDetector changePointDetector) {
+        this.changePointDetector = changePointDetector;
+    }
+    
+    /**
+     * Per-build history used for change-point detection across runs
+     * Defaults to analytics-history.json next to the first exported report
+     */
+    public void setHistoryFile(Path historyFile) {
+        this.historyFile = historyFile;
+        this.persistedHistory = null;
+    }
     
     /**
      * Record test execution
@@ -38,12 +63,39 @@ public class TestAnalytics {
         // Update category statistics
         testCategoryStats.merge(category, 1, Integer::sum);
         
-        // Record performance metrics
-        performanceMetrics.computeIfAbsent(testName, k -> new ArrayList<>()).add((double) duration);
+        // Record performance metrics against the build that produced them
+        String build = resolveBuild(additionalData);
+        performanceMetrics.computeIfAbsent(testName, k -> new MetricSeries()).add(duration, build);
+        
+        // Endpoint latency is optional and supplied by API tests via additionalData
+        if (additionalData != null && additionalData.get("endpoint") != null
+                && additionalData.get("responseTime") instanceof Number) {
+            recordEndpointLatency(String.valueOf(additionalData.get("endpoint")),
+                    ((Number) additionalData.get("responseTime")).doubleValue(), build);
+        }
         
         logger.info("Recorded test execution: {} - {} - {}", testName, category, passed ? "PASSED" : "FAILED");
     }
     
+    /**
+     * Record a single endpoint latency sample for regression detection
+     */
+    public void recordEndpointLatency(String endpoint, double latencyMs, String build) {
+        endpointLatencies.computeIfAbsent(endpoint, k -> new MetricSeries())
+                .add(latencyMs, build != null ? build : resolveBuild(null));
+    }
+    
+    /**
+     * Resolve build identifier from additional data, system property or CI environment
+     */
+    private String resolveBuild(Map<String, Object> additionalData) {
+        if (additionalData != null && additionalData.get("build") != null) {
+            return String.valueOf(additionalData.get("build"));
+        }
+        String build = System.getProperty("build.number", System.getenv("BUILD_NUMBER"));
+        return build != null ? build : DEFAULT_BUILD;
+    }
+    
     /**
      * Generate comprehensive analytics report
      */
@@ -56,6 +108,12 @@ public class TestAnalytics {
         report.failedTests = report.totalTests - report.passedTests;
         report.passRate = report.totalTests > 0 ? (report.passedTests * 100.0) / report.totalTests : 0.0;
         
+        // One point per build: earlier builds from the history file, then this run
+        BuildHistory history = loadHistory();
+        mergedHistory = new BuildHistory();
+        mergedHistory.durations = mergeHistory(history.durations, performanceMetrics);
+        mergedHistory.latencies = mergeHistory(history.latencies, endpointLatencies);
+        
         // Execution time statistics
         OptionalDouble avgDuration = testExecutions.stream().mapToLong(TestExecution::getDuration).average();
         report.averageExecutionTime = avgDuration.orElse(0.0);
@@ -67,6 +125,9 @@ public class TestAnalytics {
         // Performance trends
         report.performanceTrends = calculatePerformanceTrends();
         
+        // Endpoint latency regressions
+        report.latencyRegressions = detectLatencyRegressions();
+        
         // Failure analysis
         report.failureAnalysis = analyzeFailures();
         
@@ -81,34 +142,29 @@ public class TestAnalytics {
     }
     
     /**
-     * Calculate performance trends
+     * Calculate performance trends using change-point detection
      */
     private Map<String, PerformanceTrend> calculatePerformanceTrends() {
         Map<String, PerformanceTrend> trends = new HashMap<>();
         
-        for (Map.Entry<String, List<Double>> entry : performanceMetrics.entrySet()) {
+        for (Map.Entry<String, MetricSeries> entry : performanceMetrics.entrySet()) {
             String testName = entry.getKey();
-            List<Double> durations = entry.getValue();
+            List<Double> durations = entry.getValue().values;
+            List<BuildAggregate> builds = mergedHistory.durations.get(testName);
             
-            if (durations.size() >= 2) {
+            if (durations.size() >= 2 || builds.size() >= 2) {
                 PerformanceTrend trend = new PerformanceTrend();
                 trend.testName = testName;
                 trend.averageDuration = durations.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
                 trend.minDuration = durations.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
                 trend.maxDuration = durations.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
                 
-                // Calculate trend direction
-                double firstHalf = durations.subList(0, durations.size() / 2).stream()
-                        .mapToDouble(Double::doubleValue).average().orElse(0.0);
-                double secondHalf = durations.subList(durations.size() / 2, durations.size()).stream()
-                        .mapToDouble(Double::doubleValue).average().orElse(0.0);
-                
-                if (secondHalf > firstHalf * 1.1) {
-                    trend.trendDirection = "DEGRADING";
-                } else if (secondHalf < firstHalf * 0.9) {
-                    trend.trendDirection = "IMPROVING";
-                } else {
+                // Trend direction follows the most recent significant shift, if any
+                trend.changePoints = detect(builds);
+                if (trend.changePoints.isEmpty()) {
                     trend.trendDirection = "STABLE";
+                } else {
+                    trend.trendDirection = trend.changePoints.get(trend.changePoints.size() - 1).direction;
                 }
                 
                 trends.put(testName, trend);
@@ -118,6 +174,96 @@ public class TestAnalytics {
         return trends;
     }
     
+    /**
+     * Detect latency regressions per endpoint
+     */
+    private Map<String, List<ChangePointDetector.ChangePoint>> detectLatencyRegressions() {
+        Map<String, List<ChangePointDetector.ChangePoint>> regressions = new HashMap<>();
+        
+        for (Map.Entry<String, List<BuildAggregate>> entry : mergedHistory.latencies.entrySet()) {
+            List<ChangePointDetector.ChangePoint> changePoints = detect(entry.getValue());
+            if (!changePoints.isEmpty()) {
+                regressions.put(entry.getKey(), changePoints);
+                ChangePointDetector.ChangePoint latest = changePoints.get(changePoints.size() - 1);
+                logger.warn("Latency shift on {} at build {}: {}ms -> {}ms (p={})", entry.getKey(), latest.build,
+                        String.format("%.0f", latest.meanBefore), String.format("%.0f", latest.meanAfter),
+                        String.format("%.3f", latest.pValue));
+            }
+        }
+        
+        return regressions;
+    }
+    
+    /**
+     * Change points over per-build means, so a shift is attributed to the build that caused it
+     */
+    private List<ChangePointDetector.ChangePoint> detect(List<BuildAggregate> builds) {
+        List<Double> means = new ArrayList<>(builds.size());
+        List<String> labels = new ArrayList<>(builds.size());
+        for (BuildAggregate aggregate : builds) {
+            means.add(aggregate.mean);
+            labels.add(aggregate.build);
+        }
+        return changePointDetector.detect(means, labels);
+    }
+    
+    /**
+     * Append this run's per-build aggregates to the persisted ones
+     * A build already in the history is replaced, so exporting twice does not count it twice
+     */
+    private Map<String, List<BuildAggregate>> mergeHistory(Map<String, List<BuildAggregate>> persisted,
+                                                           Map<String, MetricSeries> current) {
+        int maxBuilds = Integer.getInteger("analytics.history.builds", DEFAULT_HISTORY_BUILDS);
+        Map<String, List<BuildAggregate>> merged = new LinkedHashMap<>();
+        for (Map.Entry<String, List<BuildAggregate>> entry : persisted.entrySet()) {
+            merged.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        
+        for (Map.Entry<String, MetricSeries> entry : current.entrySet()) {
+            List<BuildAggregate> thisRun = entry.getValue().aggregate();
+            Set<String> builds = thisRun.stream().map(a -> a.build).collect(Collectors.toSet());
+            List<BuildAggregate> series = merged.computeIfAbsent(entry.getKey(), k -> new ArrayList<>());
+            series.removeIf(a -> builds.contains(a.build));
+            series.addAll(thisRun);
+            if (series.size() > maxBuilds) {
+                series.subList(0, series.size() - maxBuilds).clear();
+            }
+        }
+        return merged;
+    }
+    
+    private BuildHistory loadHistory() {
+        if (persistedHistory == null) {
+            persistedHistory = new BuildHistory();
+            if (historyFile != null && Files.exists(historyFile)) {
+                try {
+                    persistedHistory = ObjectMapperProvider.mapper().readValue(historyFile.toFile(), BuildHistory.class);
+                    logger.info("Loaded analytics history from: {}", historyFile);
+                } catch (IOException e) {
+                    logger.warn("Ignoring unreadable analytics history {}: {}", historyFile, e.getMessage());
+                }
+            }
+        }
+        return persistedHistory;
+    }
+    
+    private void saveHistory() {
+        if (historyFile == null || mergedHistory == null) {
+            return;
+        }
+        try {
+            ObjectMapperProvider.prettyWriter().writeValue(historyFile.toFile(), mergedHistory);
+        } catch (IOException e) {
+            logger.error("Failed to save analytics history", e);
+        }
+    }
+    
+    private void useHistoryNextTo(String filePath) {
+        if (historyFile == null) {
+            setHistoryFile(Paths.get(filePath).toAbsolutePath().resolveSibling(HISTORY_FILE_NAME));
+        }
+    }
+    
     /**
      * Analyze test failures
      */
@@ -235,11 +381,13 @@ public class TestAnalytics {
      */
     public void exportToJson(String filePath) {
         try {
+            useHistoryNextTo(filePath);
             TestAnalyticsReport report = generateAnalyticsReport();
             File file = new File(filePath);
-            file.getParentFile().mkdirs();
+            file.getAbsoluteFile().getParentFile().mkdirs();
             
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+            ObjectMapperProvider.prettyWriter().writeValue(file, report);
+            saveHistory();
             logger.info("Analytics report exported to: {}", filePath);
         } catch (IOException e) {
             logger.error("Failed to export analytics report", e);
@@ -251,15 +399,14 @@ public class TestAnalytics {
      */
     public void exportToHtmlDashboard(String filePath) {
         try {
+            useHistoryNextTo(filePath);
             TestAnalyticsReport report = generateAnalyticsReport();
-            String html = generateHtmlDashboard(report);
-            
-            File file = new File(filePath);
-            file.getParentFile().mkdirs();
+            int pageSize = Integer.getInteger("dashboard.page.size", HtmlDashboardWriter.DEFAULT_PAGE_SIZE);
             
-            try (FileWriter writer = new FileWriter(file)) {
-                writer.write(html);
+            try (HtmlDashboardWriter writer = HtmlDashboardWriter.open(Paths.get(filePath), pageSize)) {
+                writer.write(report);
             }
+            saveHistory();
             
             logger.info("HTML dashboard exported to: {}", filePath);
         } catch (IOException e) {
@@ -267,118 +414,6 @@ public class TestAnalytics {
         }
     }
     
-    /**
-     * Generate HTML dashboard
-     */
-    private String generateHtmlDashboard(TestAnalyticsReport report) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <title>API Test Analytics Dashboard</title>
-                <style>
-                    body { font-family: Arial, sans-serif; margin: 20px; background-color: #f5f5f5; }
-                    .container { max-width: 1200px; margin: 0 auto; }
-                    .card { background: white; padding: 20px; margin: 20px 0; border-radius: 8px; box-shadow: 0 2px 4px rgba(0,0,0,0.1); }
-                    .metric { display: inline-block; margin: 10px 20px; text-align: center; }
-                    .metric-value { font-size: 2em; font-weight: bold; color: #2196F3; }
-                    .metric-label { font-size: 0.9em; color: #666; }
-                    .pass { color: #4CAF50; }
-                    .fail { color: #F44336; }
-                    .warning { color: #FF9800; }
-                    table { width: 100%%; border-collapse: collapse; margin: 10px 0; }
-                    th, td { padding: 8px; text-align: left; border-bottom: 1px solid #ddd; }
-                    th { background-color: #f2f2f2; }
-                    .chart { height: 300px; background: #f9f9f9; border: 1px solid #ddd; margin: 10px 0; }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <h1>API Test Analytics Dashboard</h1>
-                    <p>Generated on: %s</p>
-                    
-                    <div class="card">
-                        <h2>Test Execution Summary</h2>
-                        <div class="metric">
-                            <div class="metric-value">%d</div>
-                            <div class="metric-label">Total Tests</div>
-                        </div>
-                        <div class="metric">
-                            <div class="metric-value pass">%d</div>
-                            <div class="metric-label">Passed</div>
-                        </div>
-                        <div class="metric">
-                            <div class="metric-value fail">%d</div>
-                            <div class="metric-label">Failed</div>
-                        </div>
-                        <div class="metric">
-                            <div class="metric-value">%.1f%%</div>
-                            <div class="metric-label">Pass Rate</div>
-                        </div>
-                        <div class="metric">
-                            <div class="metric-value">%.0fms</div>
-                            <div class="metric-label">Avg Duration</div>
-                        </div>
-                    </div>
-                    
-                    <div class="card">
-                        <h2>Test Categories</h2>
-                        <table>
-                            <tr><th>Category</th><th>Count</th><th>Percentage</th></tr>
-                            %s
-                        </table>
-                    </div>
-                    
-                    <div class="card">
-                        <h2>Stability Metrics</h2>
-                        <div class="metric">
-                            <div class="metric-value %.1f%%</div>
-                            <div class="metric-label">Consistency Score</div>
-                        </div>
-                        <div class="metric">
-                            <div class="metric-value warning">%d</div>
-                            <div class="metric-label">Flaky Tests</div>
-                        </div>
-                    </div>
-                    
-                    <div class="card">
-                        <h2>Performance Trends</h2>
-                        <table>
-                            <tr><th>Test</th><th>Avg Duration</th><th>Min</th><th>Max</th><th>Trend</th></tr>
-                            %s
-                        </table>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
-            report.totalTests,
-            report.passedTests,
-            report.failedTests,
-            report.passRate,
-            report.averageExecutionTime,
-            generateCategoryTableRows(report.categoryBreakdown, report.totalTests),
-            report.stabilityMetrics.consistencyScore,
-            report.stabilityMetrics.flakyTests.size(),
-            generatePerformanceTableRows(report.performanceTrends)
-        );
-    }
-    
-    private String generateCategoryTableRows(Map<String, Integer> categories, int total) {
-        return categories.entrySet().stream()
-                .map(entry -> String.format("<tr><td>%s</td><td>%d</td><td>%.1f%%</td></tr>",
-                        entry.getKey(), entry.getValue(), (entry.getValue() * 100.0) / total))
-                .collect(Collectors.joining("\n"));
-    }
-    
-    private String generatePerformanceTableRows(Map<String, PerformanceTrend> trends) {
-        return trends.values().stream()
-                .map(trend -> String.format("<tr><td>%s</td><td>%.0fms</td><td>%.0fms</td><td>%.0fms</td><td>%s</td></tr>",
-                        trend.testName, trend.averageDuration, trend.minDuration, trend.maxDuration, trend.trendDirection))
-                .collect(Collectors.joining("\n"));
-    }
-    
     // Data classes for analytics
     
     public static class TestExecution {
@@ -417,6 +452,7 @@ public class TestAnalytics {
         public long totalExecutionTime;
         public Map<String, Integer> categoryBreakdown;
         public Map<String, PerformanceTrend> performanceTrends;
+        public Map<String, List<ChangePointDetector.ChangePoint>> latencyRegressions;
         public FailureAnalysis failureAnalysis;
         public StabilityMetrics stabilityMetrics;
         public List<TimelineEntry> executionTimeline;
@@ -428,6 +464,57 @@ public class TestAnalytics {
         public double minDuration;
         public double maxDuration;
         public String trendDirection;
+        public List<ChangePointDetector.ChangePoint> changePoints;
+    }
+    
+    /**
+     * Ordered samples with the build that produced each one
+     */
+    private static class MetricSeries {
+        private final List<Double> values = new ArrayList<>();
+        private final List<String> builds = new ArrayList<>();
+        
+        void add(double value, String build) {
+            values.add(value);
+            builds.add(build);
+        }
+        
+        /**
+         * Mean per build, in the order builds were first seen
+         */
+        List<BuildAggregate> aggregate() {
+            Map<String, BuildAggregate> byBuild = new LinkedHashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                BuildAggregate aggregate = byBuild.computeIfAbsent(builds.get(i), BuildAggregate::new);
+                aggregate.samples++;
+                aggregate.mean += (values.get(i) - aggregate.mean) / aggregate.samples;
+            }
+            return new ArrayList<>(byBuild.values());
+        }
+    }
+    
+    /**
+     * Mean of one metric over all samples a build produced
+     */
+    public static class BuildAggregate {
+        public String build;
+        public int samples;
+        public double mean;
+        
+        public BuildAggregate() {
+        }
+        
+        public BuildAggregate(String build) {
+            this.build = build;
+        }
+    }
+    
+    /**
+     * Persisted per-build series, keyed by test name and by endpoint
+     */
+    public static class BuildHistory {
+        public Map<String, List<BuildAggregate>> durations = new LinkedHashMap<>();
+        public Map<String, List<BuildAggregate>> latencies = new LinkedHashMap<>();
     }
     
     public static class FailureAnalysis {
@@ -4,7 +4,7 @@ import com.api.automation.builders.ApiRequestBuilder;
 import com.api.automation.models.User;
 import com.api.automation.models.UserResponse;
 import io.restassured.response.Response;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.api.automation.utils.ObjectMapperProvider;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,11 +17,6 @@ public class UserService {
     
     private static final String USERS_ENDPOINT = "/users";
     private static final String USER_BY_ID_ENDPOINT = "/users/{id}";
-    private final ObjectMapper objectMapper;
-    
-    public UserService() {
-        this.objectMapper = new ObjectMapper();
-    }
     
     /**
      * Get all users with pagination
@@ -263,10 +258,10 @@ public class UserService {
         }
     }
 
-    // Helper methods for response parsing
+    // Helper methods for response parsing; bodies are bound from the raw bytes without decoding to a String first
     public UserResponse parseUserResponse(Response response) {
         try {
-            return objectMapper.readValue(response.asString(), UserResponse.class);
+            return ObjectMapperProvider.userResponseReader().readValue(response.asByteArray());
         } catch (Exception e) {
             throw new RuntimeException("Failed to parse user response", e);
         }
@@ -274,7 +269,7 @@ public class UserService {
 
     public User parseUser(Response response) {
         try {
-            return objectMapper.readValue(response.asString(), User.class);
+            return ObjectMapperProvider.userReader().readValue(response.asByteArray());
         } catch (Exception e) {
             throw new RuntimeException("Failed to parse user", e);
         }
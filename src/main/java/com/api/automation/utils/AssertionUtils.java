@@ -155,4 +155,13 @@ public class AssertionUtils {
         Assert.assertTrue(condition.test(fieldValue), errorMessage);
         logger.info("Custom validation passed for field: " + fieldPath);
     }
+    
+    /**
+     * Validate the response body against its golden snapshot (see SnapshotStore)
+     */
+    public static void validateSnapshot(Response response, String snapshotName) {
+        SnapshotStore.SnapshotResult result = SnapshotStore.getInstance().verify(snapshotName, response);
+        Assert.assertTrue(result.isMatch(), result.toString());
+        logger.info(result.toString());
+    }
 }
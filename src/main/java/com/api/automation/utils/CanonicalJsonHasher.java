@@ -0,0 +1,278 @@
+package com.api.automation.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 128-bit fingerprint of the canonical form of a JSON document, computed in one pass over
+ * the parser's tokens without building a tree
+ * Canonical means: object key order and whitespace do not matter, and numbers are compared
+ * by value (1, 1.0 and 1e0 hash alike). Key order is removed without sorting: an object's
+ * digest combines the 128-bit digests of its fields by addition, which is independent of
+ * order. Array order is significant. Field names in the masked set hash as one constant
+ * whatever their (non-null) value, matching how SnapshotStore masks volatile fields.
+ * The mixing is MurmurHash3's, so this is for identity and deduplication, not security.
+ */
+public class CanonicalJsonHasher {
+
+    private static final JsonFactory jsonFactory = ObjectMapperProvider.mapper().getFactory();
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private static final int TAG_NULL = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_FALSE = 3;
+    private static final int TAG_INTEGER = 4;
+    private static final int TAG_DECIMAL = 5;
+    private static final int TAG_STRING = 6;
+    private static final int TAG_ARRAY = 7;
+    private static final int TAG_OBJECT = 8;
+    private static final int TAG_FIELD = 9;
+    private static final int TAG_MASKED = 10;
+
+    private final Set<String> maskedFields;
+    // One digest state per nesting level, reused across values
+    private final List<State> states = new ArrayList<>();
+
+    private CanonicalJsonHasher(Set<String> maskedFields) {
+        this.maskedFields = maskedFields;
+    }
+
+    public static String hash(byte[] json) {
+        return hash(json, Collections.emptySet());
+    }
+
+    /**
+     * Hex fingerprint of a document, with the values of masked field names ignored
+     */
+    public static String hash(byte[] json, Set<String> maskedFields) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return new CanonicalJsonHasher(maskedFields).hashDocument(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to hash JSON document", e);
+        }
+    }
+
+    public static String hash(String json) {
+        return hash(json, Collections.emptySet());
+    }
+
+    public static String hash(String json, Set<String> maskedFields) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return new CanonicalJsonHasher(maskedFields).hashDocument(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to hash JSON document", e);
+        }
+    }
+
+    /**
+     * Fingerprint of a document read from a stream; the caller closes the stream
+     */
+    public static String hash(InputStream json, Set<String> maskedFields) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return new CanonicalJsonHasher(maskedFields).hashDocument(parser);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to hash JSON document", e);
+        }
+    }
+
+    private String hashDocument(JsonParser parser) throws IOException {
+        if (parser.nextToken() == null) {
+            throw new IllegalArgumentException("Empty JSON document");
+        }
+        State root = state(0);
+        root.reset();
+        hashValue(parser, root, 1);
+        // A second root value would otherwise be ignored and hash like the first alone
+        if (parser.nextToken() != null) {
+            throw new IllegalArgumentException("JSON has trailing content after the document: " + parser.currentToken());
+        }
+        root.finish();
+        return String.format("%016x%016x", root.h1, root.h2);
+    }
+
+    /**
+     * Feed the value the parser is positioned on into the target state
+     */
+    private void hashValue(JsonParser parser, State target, int depth) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT: {
+                // Sum of field digests (mod 2^128): the same for any field order
+                long sumLow = 0;
+                long sumHigh = 0;
+                int count = 0;
+                State field = state(depth);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    field.reset();
+                    field.add(TAG_FIELD);
+                    field.addText(parser);
+                    boolean masked = maskedFields.contains(parser.currentName());
+                    parser.nextToken();
+                    if (masked && parser.currentToken() != JsonToken.VALUE_NULL) {
+                        field.add(TAG_MASKED);
+                        parser.skipChildren();
+                    } else {
+                        hashValue(parser, field, depth + 1);
+                    }
+                    field.finish();
+                    long low = sumLow + field.h2;
+                    sumHigh += field.h1 + (Long.compareUnsigned(low, sumLow) < 0 ? 1 : 0);
+                    sumLow = low;
+                    count++;
+                }
+                target.add(TAG_OBJECT);
+                target.add(count);
+                target.add(sumHigh);
+                target.add(sumLow);
+                break;
+            }
+            case START_ARRAY: {
+                int count = 0;
+                State element = state(depth);
+                target.add(TAG_ARRAY);
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    element.reset();
+                    hashValue(parser, element, depth + 1);
+                    element.finish();
+                    target.add(element.h1);
+                    target.add(element.h2);
+                    count++;
+                }
+                target.add(count);
+                break;
+            }
+            case VALUE_STRING:
+                target.add(TAG_STRING);
+                target.addText(parser);
+                break;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                addNumber(parser, target);
+                break;
+            case VALUE_TRUE:
+                target.add(TAG_TRUE);
+                break;
+            case VALUE_FALSE:
+                target.add(TAG_FALSE);
+                break;
+            case VALUE_NULL:
+                target.add(TAG_NULL);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected JSON token " + parser.currentToken());
+        }
+    }
+
+    /**
+     * Integral values (whatever their notation) hash as longs, everything else as a
+     * decimal without trailing zeros
+     */
+    private static void addNumber(JsonParser parser, State target) throws IOException {
+        JsonParser.NumberType type = parser.getNumberType();
+        if (type == JsonParser.NumberType.INT || type == JsonParser.NumberType.LONG) {
+            target.add(TAG_INTEGER);
+            target.add(parser.getLongValue());
+            return;
+        }
+        BigDecimal value = parser.getDecimalValue();
+        BigDecimal normalized = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        if (normalized.scale() <= 0 && normalized.compareTo(LONG_MIN) >= 0 && normalized.compareTo(LONG_MAX) <= 0) {
+            target.add(TAG_INTEGER);
+            target.add(normalized.longValue());
+            return;
+        }
+        target.add(TAG_DECIMAL);
+        target.add(normalized.scale());
+        for (byte b : normalized.unscaledValue().toByteArray()) {
+            target.add(b);
+        }
+    }
+
+    private State state(int depth) {
+        while (states.size() <= depth) {
+            states.add(new State());
+        }
+        return states.get(depth);
+    }
+
+    /**
+     * Streaming 128-bit MurmurHash3-style state over 64-bit words
+     */
+    private static final class State {
+        long h1;
+        long h2;
+        long length;
+
+        void reset() {
+            h1 = 0x9368e53c2f6af274L;
+            h2 = 0x586dcd208f7cd3fdL;
+            length = 0;
+        }
+
+        void add(long word) {
+            long k1 = Long.rotateLeft(word * C1, 31) * C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            long k2 = Long.rotateLeft(word * C2, 33) * C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+            length++;
+        }
+
+        /**
+         * Add text from the parser's buffer, four chars per word, then its length
+         */
+        void addText(JsonParser parser) throws IOException {
+            char[] chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            int textLength = parser.getTextLength();
+            int i = 0;
+            for (; i + 4 <= textLength; i += 4) {
+                add(((long) chars[offset + i] << 48) | ((long) chars[offset + i + 1] << 32)
+                        | ((long) chars[offset + i + 2] << 16) | chars[offset + i + 3]);
+            }
+            long tail = 0;
+            for (; i < textLength; i++) {
+                tail = (tail << 16) | chars[offset + i];
+            }
+            add(tail);
+            add(textLength);
+        }
+
+        void finish() {
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.api.automation.utils;
+
+import com.api.automation.config.ConfigManager;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared, bounded JDBC connection pool for all DatabaseManager instances
+ * Configured from db.* properties; connections are validated on borrow and
+ * connections held longer than the leak threshold are reported.
+ * With db.mode=embedded the pool targets an in-memory H2 database bootstrapped
+ * from the db.embedded.schema scripts, so DB-backed tests run without a server
+ */
+public class ConnectionPoolManager {
+
+    private static final Logger logger = LogManager.getLogger(ConnectionPoolManager.class);
+    private static final String EMBEDDED_MODE = "embedded";
+    private static final String DEFAULT_EMBEDDED_URL =
+            "jdbc:h2:mem:api_test_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String DEFAULT_SCHEMA_SCRIPTS = "src/test/resources/db/schema.sql";
+    private static volatile HikariDataSource dataSource;
+
+    private ConnectionPoolManager() {}
+
+    /**
+     * Get the shared pool, creating it on first use; returns null when db.url is not configured
+     */
+    public static DataSource getDataSource() {
+        if (dataSource == null) {
+            synchronized (ConnectionPoolManager.class) {
+                if (dataSource == null) {
+                    dataSource = createDataSource(ConfigManager.getInstance());
+                }
+            }
+        }
+        return dataSource;
+    }
+
+    private static HikariDataSource createDataSource(ConfigManager config) {
+        boolean embedded = isEmbedded(config);
+        String dbUrl = embedded
+                ? config.getProperty("db.embedded.url", DEFAULT_EMBEDDED_URL)
+                : config.getProperty("db.url");
+        if (dbUrl == null || dbUrl.isEmpty()) {
+            return null;
+        }
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("api-test-db-pool");
+        hikariConfig.setJdbcUrl(dbUrl);
+        hikariConfig.setUsername(embedded ? config.getProperty("db.embedded.username", "sa") : config.getProperty("db.username"));
+        hikariConfig.setPassword(embedded ? config.getProperty("db.embedded.password", "") : config.getProperty("db.password"));
+        hikariConfig.setMaximumPoolSize(config.getIntProperty("db.pool.maxSize", 10));
+        hikariConfig.setMinimumIdle(config.getIntProperty("db.pool.minIdle", 2));
+        hikariConfig.setConnectionTimeout(config.getIntProperty("db.pool.connectionTimeoutMs", 10000));
+        hikariConfig.setValidationTimeout(config.getIntProperty("db.pool.validationTimeoutMs", 3000));
+        hikariConfig.setIdleTimeout(config.getIntProperty("db.pool.idleTimeoutMs", 600000));
+        hikariConfig.setLeakDetectionThreshold(config.getIntProperty("db.pool.leakDetectionMs", 30000));
+
+        // Driver-side prepared statement cache: bounded, per physical connection, keyed by SQL text
+        if (dbUrl.startsWith("jdbc:mysql:")
+                && Boolean.parseBoolean(config.getProperty("db.statementCache.enabled", "true"))) {
+            hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
+            hikariConfig.addDataSourceProperty("useServerPrepStmts", "true");
+            hikariConfig.addDataSourceProperty("prepStmtCacheSize",
+                    String.valueOf(config.getIntProperty("db.statementCache.size", 250)));
+            hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit",
+                    String.valueOf(config.getIntProperty("db.statementCache.sqlLimit", 2048)));
+        }
+
+        // Optional explicit validation query for drivers without JDBC4 isValid()
+        String testQuery = config.getProperty("db.pool.validationQuery");
+        if (testQuery != null && !testQuery.isEmpty()) {
+            hikariConfig.setConnectionTestQuery(testQuery);
+        }
+
+        HikariDataSource created = new HikariDataSource(hikariConfig);
+        logger.info("Database connection pool started (max size {})", hikariConfig.getMaximumPoolSize());
+
+        if (embedded) {
+            runScripts(created, config.getProperty("db.embedded.schema", DEFAULT_SCHEMA_SCRIPTS));
+        }
+        return created;
+    }
+
+    /**
+     * Check if db.mode selects the embedded in-memory database
+     */
+    public static boolean isEmbedded(ConfigManager config) {
+        return EMBEDDED_MODE.equalsIgnoreCase(config.getProperty("db.mode", ""));
+    }
+
+    /**
+     * Run comma-separated SQL scripts; statements are separated by semicolons, -- comments are skipped
+     */
+    private static void runScripts(DataSource target, String scriptPaths) {
+        for (String scriptPath : scriptPaths.split(",")) {
+            Path path = Paths.get(scriptPath.trim());
+            try (Connection connection = target.getConnection();
+                 Statement statement = connection.createStatement()) {
+
+                StringBuilder sql = new StringBuilder();
+                int executed = 0;
+                for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                    String trimmed = line.trim();
+                    if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                        continue;
+                    }
+                    sql.append(line).append('\n');
+                    if (trimmed.endsWith(";")) {
+                        statement.execute(sql.substring(0, sql.lastIndexOf(";")));
+                        sql.setLength(0);
+                        executed++;
+                    }
+                }
+                if (sql.toString().trim().length() > 0) {
+                    statement.execute(sql.toString());
+                    executed++;
+                }
+                logger.info("Bootstrapped embedded database from {} ({} statements)", path, executed);
+
+            } catch (IOException | SQLException e) {
+                logger.error("Failed to run schema script: {}", path, e);
+                throw new RuntimeException("Embedded database bootstrap failed", e);
+            }
+        }
+    }
+
+    /**
+     * Check if the shared pool is running
+     */
+    public static boolean isRunning() {
+        HikariDataSource current = dataSource;
+        return current != null && current.isRunning();
+    }
+
+    /**
+     * Snapshot of pool metrics: active, idle, total and waiting connections
+     */
+    public static Map<String, Integer> getPoolMetrics() {
+        Map<String, Integer> metrics = new LinkedHashMap<>();
+        HikariDataSource current = dataSource;
+        if (current == null || current.getHikariPoolMXBean() == null) {
+            return metrics;
+        }
+
+        HikariPoolMXBean pool = current.getHikariPoolMXBean();
+        metrics.put("active", pool.getActiveConnections());
+        metrics.put("idle", pool.getIdleConnections());
+        metrics.put("total", pool.getTotalConnections());
+        metrics.put("waiting", pool.getThreadsAwaitingConnection());
+        metrics.put("maxSize", current.getMaximumPoolSize());
+        return metrics;
+    }
+
+    /**
+     * Close the shared pool; the next getDataSource() call recreates it
+     */
+    public static synchronized void shutdown() {
+        if (dataSource != null) {
+            logger.info("Closing database connection pool: {}", getPoolMetrics());
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+}
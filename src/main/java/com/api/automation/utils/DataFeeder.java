@@ -0,0 +1,297 @@
+package com.api.automation.utils;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feeds records from a test data source to virtual users of a load scenario
+ * Records are spooled once from the source; cursors are lock-free atomics, so any number
+ * of virtual users can draw concurrently. Small feeds are held on the heap, feeds larger
+ * than the mmap threshold are spooled to a memory-mapped file and decoded per draw.
+ */
+public class DataFeeder<T> {
+
+    private static final Logger logger = LogManager.getLogger(DataFeeder.class);
+
+    /**
+     * How records are handed out
+     */
+    public enum Strategy {
+        /** Round-robin over all records, wrapping at the end */
+        CIRCULAR,
+        /** Uniformly random record per draw, from the thread's TestDataRandom stream */
+        RANDOM,
+        /** Each record is handed out once; draws fail when the feed is exhausted */
+        QUEUE,
+        /** Each virtual user is assigned one record on first draw and keeps it */
+        STICKY
+    }
+
+    private final String name;
+    private final Strategy strategy;
+    private final RecordStore<T> store;
+    private final AtomicLong cursor = new AtomicLong();
+    private final Map<Long, Integer> stickyAssignments = new ConcurrentHashMap<>();
+
+    private DataFeeder(String name, Strategy strategy, RecordStore<T> store) {
+        this.name = name;
+        this.strategy = strategy;
+        this.store = store;
+    }
+
+    /**
+     * Spool a source into a feeder; sources with more than mmapThreshold records are
+     * written to a memory-mapped file and round-tripped through JSON on each draw
+     */
+    public static <T> DataFeeder<T> from(String name, Iterator<? extends T> source, Class<T> type,
+                                         Strategy strategy, int mmapThreshold) {
+        long startTime = System.currentTimeMillis();
+        List<T> records = new ArrayList<>();
+        while (source.hasNext() && records.size() < mmapThreshold) {
+            records.add(source.next());
+        }
+
+        RecordStore<T> store;
+        if (source.hasNext()) {
+            store = MappedStore.spool(name, records, source, type);
+        } else {
+            store = new HeapStore<>(records);
+        }
+        if (store.size() == 0) {
+            store.close();
+            throw new IllegalArgumentException("Feeder '" + name + "' has no records");
+        }
+
+        logger.info("Feeder '{}' ready: {} records, {} strategy, {} in {} ms", name, store.size(), strategy,
+                store instanceof MappedStore ? "memory-mapped" : "heap", System.currentTimeMillis() - startTime);
+        return new DataFeeder<>(name, strategy, store);
+    }
+
+    /**
+     * Next record for the calling thread
+     */
+    public T next() {
+        return next(Thread.currentThread().getId());
+    }
+
+    /**
+     * Next record for a virtual user; the id only matters for the STICKY strategy
+     */
+    public T next(long virtualUserId) {
+        int size = store.size();
+        switch (strategy) {
+            case CIRCULAR:
+                return store.get((int) Math.floorMod(cursor.getAndIncrement(), (long) size));
+            case RANDOM:
+                return store.get(TestDataRandom.current().nextInt(size));
+            case QUEUE:
+                long position = cursor.getAndIncrement();
+                if (position >= size) {
+                    throw new NoSuchElementException("Feeder '" + name + "' exhausted after " + size + " records");
+                }
+                return store.get((int) position);
+            case STICKY:
+                return store.get(stickyAssignments.computeIfAbsent(virtualUserId,
+                        id -> (int) Math.floorMod(cursor.getAndIncrement(), (long) size)));
+            default:
+                throw new IllegalStateException("Unsupported feeder strategy: " + strategy);
+        }
+    }
+
+    /**
+     * Check if a QUEUE feeder still has records; other strategies never run out
+     */
+    public boolean hasRemaining() {
+        return strategy != Strategy.QUEUE || cursor.get() < store.size();
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Release the backing store; memory-mapped spool files are deleted
+     */
+    public void close() {
+        store.close();
+    }
+
+    /**
+     * Random-access record storage behind a feeder
+     */
+    private interface RecordStore<T> {
+        int size();
+
+        T get(int index);
+
+        void close();
+    }
+
+    private static class HeapStore<T> implements RecordStore<T> {
+        private final Object[] records;
+
+        HeapStore(List<T> records) {
+            this.records = records.toArray();
+        }
+
+        @Override
+        public int size() {
+            return records.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            return (T) records[index];
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+
+    /**
+     * Records as JSON in a memory-mapped data file, with a mapped index of record offsets
+     * The data file is split into segments of at most 1 GB (the mapping limit is 2 GB);
+     * a record never spans two segments
+     */
+    private static class MappedStore<T> implements RecordStore<T> {
+        private static final long SEGMENT_SIZE = 1L << 30;
+
+        private final Path dataFile;
+        private final Path indexFile;
+        private final MappedByteBuffer[] segments;
+        private final LongBuffer offsets;
+        private final int size;
+        private final ObjectReader reader;
+
+        private MappedStore(Path dataFile, Path indexFile, int size, Class<T> type) throws IOException {
+            this.dataFile = dataFile;
+            this.indexFile = indexFile;
+            this.size = size;
+            this.reader = ObjectMapperProvider.readerFor(type);
+            try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ);
+                 FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                long length = data.size();
+                segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+                for (int i = 0; i < segments.length; i++) {
+                    long start = i * SEGMENT_SIZE;
+                    segments[i] = data.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, length - start));
+                }
+                offsets = index.map(FileChannel.MapMode.READ_ONLY, 0, index.size()).asLongBuffer();
+            }
+        }
+
+        static <T> MappedStore<T> spool(String name, List<T> head, Iterator<? extends T> rest, Class<T> type) {
+            Path dataFile = null;
+            Path indexFile = null;
+            try {
+                dataFile = Files.createTempFile("feeder-" + name + "-", ".jsonl");
+                indexFile = Files.createTempFile("feeder-" + name + "-", ".idx");
+                dataFile.toFile().deleteOnExit();
+                indexFile.toFile().deleteOnExit();
+
+                ObjectWriter writer = ObjectMapperProvider.writerFor(type);
+                int count = 0;
+                try (OutputStream data = new BufferedOutputStream(Files.newOutputStream(dataFile), 1 << 16);
+                     DataOutputStream index = new DataOutputStream(
+                             new BufferedOutputStream(Files.newOutputStream(indexFile), 1 << 16))) {
+                    long position = 0;
+                    Iterator<? extends T> records = head.iterator();
+                    while (records.hasNext() || rest.hasNext()) {
+                        T record = records.hasNext() ? records.next() : rest.next();
+                        byte[] json = writer.writeValueAsBytes(record);
+                        if (json.length >= SEGMENT_SIZE) {
+                            throw new IllegalArgumentException("Feeder record larger than 1 GB");
+                        }
+                        // Pad to the next segment rather than let the record straddle two mappings
+                        long segmentEnd = (position / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+                        if (position + json.length + 1 > segmentEnd) {
+                            for (; position < segmentEnd; position++) {
+                                data.write('\n');
+                            }
+                        }
+                        index.writeLong(position);
+                        data.write(json);
+                        data.write('\n');
+                        position += json.length + 1;
+                        count++;
+                    }
+                    index.writeLong(position);
+                }
+                head.clear();
+                return new MappedStore<>(dataFile, indexFile, count, type);
+            } catch (IOException e) {
+                deleteQuietly(dataFile);
+                deleteQuietly(indexFile);
+                logger.error("Failed to spool feeder '{}' to disk", name, e);
+                throw new RuntimeException("Failed to spool feeder data", e);
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public T get(int index) {
+            long start = offsets.get(index);
+            int length = (int) (offsets.get(index + 1) - start - 1);
+            // Any segment padding after the record is whitespace, which the reader skips
+            ByteBuffer segment = segments[(int) (start / SEGMENT_SIZE)].duplicate();
+            int offset = (int) (start % SEGMENT_SIZE);
+            byte[] json = new byte[length];
+            segment.position(offset);
+            segment.get(json);
+            try {
+                return reader.readValue(json);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to decode feeder record " + index, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            deleteQuietly(dataFile);
+            deleteQuietly(indexFile);
+        }
+
+        private static void deleteQuietly(Path path) {
+            if (path == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("Failed to delete feeder spool file: {}", path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.api.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool of pre-generated test data items
+ * Items are generated in the background into a bounded lock-free ring buffer and handed
+ * out once each; when the fill level drops below the low watermark a refill is scheduled
+ * on the shared refill executor. If the pool runs dry, take() generates the item inline
+ * rather than blocking.
+ */
+public class DataPool<T> {
+
+    private static final Logger logger = LogManager.getLogger(DataPool.class);
+    private static volatile ExecutorService refillExecutor;
+
+    private final String name;
+    private final Supplier<T> generator;
+    private final int lowWatermark;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final Queue<T> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Create a pool; capacity is rounded up to a power of two
+     */
+    public DataPool(String name, int capacity, int lowWatermark, Supplier<T> generator) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.name = name;
+        this.generator = generator;
+        this.lowWatermark = Math.min(lowWatermark, size);
+        this.items = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    private static ExecutorService getRefillExecutor() {
+        if (refillExecutor == null) {
+            synchronized (DataPool.class) {
+                if (refillExecutor == null) {
+                    int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                    refillExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "test-data-pool-refill");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return refillExecutor;
+    }
+
+    /**
+     * Take a pre-generated item, generating one inline if the pool is empty
+     */
+    public T take() {
+        T item = poll();
+        if (item == null) {
+            item = overflow.poll();
+        }
+        if (item != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            item = generator.get();
+        }
+        if (size() < lowWatermark) {
+            scheduleRefill();
+        }
+        return item;
+    }
+
+    /**
+     * Fill the pool to capacity on the calling thread, e.g. before a load test starts
+     */
+    public DataPool<T> prefill() {
+        long startTime = System.currentTimeMillis();
+        fill();
+        logger.info("Data pool '{}' prefilled with {} items in {} ms", name, size(), System.currentTimeMillis() - startTime);
+        return this;
+    }
+
+    private void scheduleRefill() {
+        if (closed || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            getRefillExecutor().execute(() -> {
+                try {
+                    fill();
+                } catch (RuntimeException e) {
+                    logger.warn("Refill of data pool '{}' failed", name, e);
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refilling.set(false);
+        }
+    }
+
+    private void fill() {
+        while (!closed && size() <= mask) {
+            T item = generator.get();
+            if (!offer(item)) {
+                // Another producer took the last slot; keep the item rather than waste it
+                overflow.add(item);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Bounded MPMC ring: each slot carries a sequence number that tells producers and
+     * consumers whether the slot is free for the current lap
+     */
+    private boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.set(index, item);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private T poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    T item = items.getAndSet(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return item;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Approximate number of ready items
+     */
+    public int size() {
+        int ready = (int) Math.max(0, tail.get() - head.get());
+        return overflow.isEmpty() ? ready : ready + overflow.size();
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Stop refilling; items already in the pool can still be taken
+     */
+    public void close() {
+        closed = true;
+        logger.info("Data pool '{}' closed: {} hits, {} misses", name, getHitCount(), getMissCount());
+    }
+}
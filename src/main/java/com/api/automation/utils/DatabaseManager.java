@@ -4,17 +4,34 @@ import com.api.automation.config.ConfigManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import javax.sql.DataSource;
 import java.sql.*;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Database manager for API test data validation and setup
- * Supports MySQL, PostgreSQL, and other JDBC-compatible databases
+ * Supports MySQL, PostgreSQL, and other JDBC-compatible databases.
+ * Connections are borrowed from the shared {@link ConnectionPoolManager} pool per call;
+ * an open transaction pins one connection to this manager until commit or rollback
  */
 public class DatabaseManager {
     
     private static final Logger logger = LogManager.getLogger(DatabaseManager.class);
-    private Connection connection;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 250;
+    private static final int MAX_SQL_TEMPLATES = 1024;
+    private static final Map<String, String> sqlTemplates = new ConcurrentHashMap<>();
+    private DataSource dataSource;
+    private Connection transactionConnection;
+    private StatementCache transactionStatements;
     private final ConfigManager config;
     
     public DatabaseManager() {
@@ -22,25 +39,96 @@ public class DatabaseManager {
     }
     
     /**
-     * Establish database connection
+     * Attach to the shared connection pool
      */
     public void connect() {
-        try {
-            String dbUrl = config.getProperty("db.url");
-            String dbUsername = config.getProperty("db.username");
-            String dbPassword = config.getProperty("db.password");
-            
-            if (dbUrl == null || dbUrl.isEmpty()) {
-                logger.warn("Database URL not configured. Skipping database connection.");
-                return;
+        dataSource = ConnectionPoolManager.getDataSource();
+        if (dataSource == null) {
+            logger.warn("Database URL not configured. Skipping database connection.");
+            return;
+        }
+        logger.info("Database connection pool attached: {}", ConnectionPoolManager.getPoolMetrics());
+    }
+    
+    /**
+     * Borrow a connection: the pinned transaction connection if any, otherwise one from the pool
+     */
+    private Connection borrowConnection() throws SQLException {
+        if (transactionConnection != null) {
+            return transactionConnection;
+        }
+        if (dataSource == null) {
+            throw new IllegalStateException("Database not connected. Call connect() first.");
+        }
+        return dataSource.getConnection();
+    }
+    
+    /**
+     * Prepare a statement; statements on the pinned transaction connection come from its cache
+     */
+    private PreparedStatement prepare(Connection connection, String query) throws SQLException {
+        return prepare(connection, query, null);
+    }
+    
+    /**
+     * Prepare a statement that returns the generated key column, unless it is null
+     */
+    private PreparedStatement prepare(Connection connection, String query, String generatedKeyColumn)
+            throws SQLException {
+        if (transactionStatements != null && connection == transactionConnection) {
+            return transactionStatements.prepare(query, generatedKeyColumn);
+        }
+        return generatedKeyColumn == null ? connection.prepareStatement(query)
+            : connection.prepareStatement(query, new String[] {generatedKeyColumn});
+    }
+    
+    private static void collectGeneratedKeys(PreparedStatement statement, List<Object> keys) throws SQLException {
+        try (ResultSet generated = statement.getGeneratedKeys()) {
+            while (generated.next()) {
+                keys.add(generated.getObject(1));
             }
-            
-            connection = DriverManager.getConnection(dbUrl, dbUsername, dbPassword);
-            logger.info("Database connection established successfully");
-            
+        }
+    }
+    
+    /**
+     * Close a statement unless it is owned by the transaction statement cache
+     */
+    private void closeStatement(Connection connection, PreparedStatement statement) {
+        if (statement == null || (transactionStatements != null && connection == transactionConnection)) {
+            return;
+        }
+        try {
+            statement.close();
         } catch (SQLException e) {
-            logger.error("Failed to establish database connection", e);
-            throw new RuntimeException("Database connection failed", e);
+            logger.warn("Failed to close statement", e);
+        }
+    }
+    
+    /**
+     * Cached SQL text for a statement shape, built once per distinct key
+     */
+    private static String sqlTemplate(String key, Supplier<String> builder) {
+        String sql = sqlTemplates.get(key);
+        if (sql == null) {
+            if (sqlTemplates.size() >= MAX_SQL_TEMPLATES) {
+                sqlTemplates.clear();
+            }
+            sql = builder.get();
+            sqlTemplates.putIfAbsent(key, sql);
+        }
+        return sql;
+    }
+    
+    /**
+     * Return a borrowed connection to the pool unless it is pinned by a transaction
+     */
+    private void releaseConnection(Connection connection) {
+        if (connection != null && connection != transactionConnection) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.error("Failed to return connection to pool", e);
+            }
         }
     }
     
@@ -49,8 +137,12 @@ public class DatabaseManager {
      */
     public List<Map<String, Object>> executeQuery(String query, Object... parameters) {
         List<Map<String, Object>> results = new ArrayList<>();
+        Connection connection = null;
+        PreparedStatement statement = null;
         
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        try {
+            connection = borrowConnection();
+            statement = prepare(connection, query);
             
             // Set parameters
             for (int i = 0; i < parameters.length; i++) {
@@ -77,16 +169,133 @@ public class DatabaseManager {
         } catch (SQLException e) {
             logger.error("Failed to execute query: {}", query, e);
             throw new RuntimeException("Query execution failed", e);
+        } finally {
+            closeStatement(connection, statement);
+            releaseConnection(connection);
         }
         
         return results;
     }
     
+    /**
+     * Stream a SELECT through a callback in constant memory; returns the number of rows visited
+     */
+    public long forEachRow(String query, RowCallback callback, Object... parameters) {
+        long rowCount = 0;
+        Connection connection = null;
+        
+        try {
+            connection = borrowConnection();
+            try (PreparedStatement statement = prepareStreamingStatement(connection, query, parameters);
+                 ResultSet resultSet = statement.executeQuery()) {
+                
+                ResultRow row = new ResultRow(resultSet);
+                while (resultSet.next()) {
+                    rowCount++;
+                    if (!callback.onRow(row)) {
+                        break;
+                    }
+                }
+            }
+            
+            logger.info("Streaming query visited {} rows", rowCount);
+            
+        } catch (SQLException e) {
+            logger.error("Failed to execute streaming query: {}", query, e);
+            throw new RuntimeException("Streaming query execution failed", e);
+        } finally {
+            releaseConnection(connection);
+        }
+        
+        return rowCount;
+    }
+    
+    /**
+     * Stream a SELECT as a lazy Stream of flyweight rows; the stream must be closed
+     * (try-with-resources) to release the cursor and return the connection to the pool
+     */
+    public Stream<ResultRow> streamRows(String query, Object... parameters) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        
+        try {
+            connection = borrowConnection();
+            statement = prepareStreamingStatement(connection, query, parameters);
+            ResultSet resultSet = statement.executeQuery();
+            ResultRow row = new ResultRow(resultSet);
+            
+            Spliterator<ResultRow> spliterator = new Spliterators.AbstractSpliterator<ResultRow>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(java.util.function.Consumer<? super ResultRow> action) {
+                    try {
+                        if (!resultSet.next()) {
+                            return false;
+                        }
+                    } catch (SQLException e) {
+                        throw new RuntimeException("Failed to advance result cursor", e);
+                    }
+                    action.accept(row);
+                    return true;
+                }
+            };
+            
+            Connection borrowed = connection;
+            PreparedStatement opened = statement;
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    resultSet.close();
+                    opened.close();
+                } catch (SQLException e) {
+                    logger.warn("Failed to close streaming cursor", e);
+                } finally {
+                    releaseConnection(borrowed);
+                }
+            });
+            
+        } catch (SQLException e) {
+            logger.error("Failed to execute streaming query: {}", query, e);
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException closeError) {
+                    logger.warn("Failed to close statement", closeError);
+                }
+            }
+            releaseConnection(connection);
+            throw new RuntimeException("Streaming query execution failed", e);
+        }
+    }
+    
+    /**
+     * Forward-only, read-only statement with the configured fetch size (db.fetch.size)
+     */
+    private PreparedStatement prepareStreamingStatement(Connection connection, String query, Object... parameters)
+            throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(
+                query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            statement.setFetchSize(config.getIntProperty("db.fetch.size", DEFAULT_FETCH_SIZE));
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return statement;
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+    }
+    
     /**
      * Execute UPDATE, INSERT, DELETE queries
      */
     public int executeUpdate(String query, Object... parameters) {
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        
+        try {
+            connection = borrowConnection();
+            statement = prepare(connection, query);
             
             // Set parameters
             for (int i = 0; i < parameters.length; i++) {
@@ -100,6 +309,9 @@ public class DatabaseManager {
         } catch (SQLException e) {
             logger.error("Failed to execute update query: {}", query, e);
             throw new RuntimeException("Update query execution failed", e);
+        } finally {
+            closeStatement(connection, statement);
+            releaseConnection(connection);
         }
     }
     
@@ -125,52 +337,288 @@ public class DatabaseManager {
         return count != null && ((Number) count).intValue() > 0;
     }
     
+    /**
+     * Asynchronously wait for a record to appear, e.g. after an API call that persists eventually.
+     * Completes with true when found, false on timeout, and exceptionally when the lookup
+     * query itself keeps failing (db.await.maxFailures); polling is shared and batched
+     * across all pending verifications (see {@link RecordAwaiter})
+     */
+    public CompletableFuture<Boolean> awaitRecord(String tableName, String whereClause, Object[] parameters,
+                                                  Duration timeout) {
+        return RecordAwaiter.getInstance().await(tableName, whereClause, parameters, timeout);
+    }
+    
     /**
      * Insert test data
      */
     public void insertTestData(String tableName, Map<String, Object> data) {
-        StringBuilder columns = new StringBuilder();
-        StringBuilder placeholders = new StringBuilder();
-        List<Object> values = new ArrayList<>();
+        List<String> columns = new ArrayList<>(data.size());
+        List<Object> values = new ArrayList<>(data.size());
         
         for (Map.Entry<String, Object> entry : data.entrySet()) {
-            if (columns.length() > 0) {
-                columns.append(", ");
-                placeholders.append(", ");
-            }
-            columns.append(entry.getKey());
-            placeholders.append("?");
+            columns.add(entry.getKey());
             values.add(entry.getValue());
         }
         
-        String query = String.format("INSERT INTO %s (%s) VALUES (%s)", 
-            tableName, columns.toString(), placeholders.toString());
+        TestDataCleaner cleaner = TestDataCleaner.getInstance();
+        String keyColumn = cleaner.getPrimaryKeyColumn(tableName);
+        if (keyColumn == null || data.get(keyColumn) != null) {
+            executeUpdate(insertSql(tableName, columns), values.toArray());
+            cleaner.trackRow(tableName, data);
+            return;
+        }
         
-        executeUpdate(query, values.toArray());
+        // Tracked table with a database-generated key: read it back so cleanup can find the row
+        for (Object key : executeInsert(insertSql(tableName, columns), keyColumn, values.toArray())) {
+            cleaner.track(tableName, key);
+        }
+    }
+    
+    /**
+     * Execute an INSERT and return the generated values of the key column
+     */
+    private List<Object> executeInsert(String query, String keyColumn, Object... parameters) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        
+        try {
+            connection = borrowConnection();
+            statement = prepare(connection, query, keyColumn);
+            
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            
+            int rowsAffected = statement.executeUpdate();
+            List<Object> keys = new ArrayList<>(rowsAffected);
+            collectGeneratedKeys(statement, keys);
+            logger.info("Insert executed successfully. {} rows affected", rowsAffected);
+            return keys;
+            
+        } catch (SQLException e) {
+            logger.error("Failed to execute insert: {}", query, e);
+            throw new RuntimeException("Insert execution failed", e);
+        } finally {
+            closeStatement(connection, statement);
+            releaseConnection(connection);
+        }
     }
     
     /**
      * Update test data
      */
     public void updateTestData(String tableName, Map<String, Object> data, String whereClause, Object... whereParams) {
-        StringBuilder setClause = new StringBuilder();
-        List<Object> values = new ArrayList<>();
+        List<String> columns = new ArrayList<>(data.size());
+        List<Object> values = new ArrayList<>(data.size() + whereParams.length);
         
         for (Map.Entry<String, Object> entry : data.entrySet()) {
-            if (setClause.length() > 0) {
-                setClause.append(", ");
-            }
-            setClause.append(entry.getKey()).append(" = ?");
+            columns.add(entry.getKey());
             values.add(entry.getValue());
         }
         
         // Add where parameters
         values.addAll(Arrays.asList(whereParams));
         
-        String query = String.format("UPDATE %s SET %s WHERE %s", 
-            tableName, setClause.toString(), whereClause);
+        executeUpdate(updateSql(tableName, columns, whereClause), values.toArray());
+    }
+    
+    /**
+     * INSERT template for a table and ordered column list
+     */
+    private static String insertSql(String tableName, List<String> columns) {
+        String joined = String.join(", ", columns);
+        return sqlTemplate("I|" + tableName + "|" + joined, () -> String.format("INSERT INTO %s (%s) VALUES (%s)",
+            tableName, joined, String.join(", ", Collections.nCopies(columns.size(), "?"))));
+    }
+    
+    /**
+     * UPDATE template for a table, ordered SET columns and WHERE clause
+     */
+    private static String updateSql(String tableName, List<String> columns, String whereClause) {
+        String joined = String.join(", ", columns);
+        return sqlTemplate("U|" + tableName + "|" + joined + "|" + whereClause, () -> String.format(
+            "UPDATE %s SET %s WHERE %s", tableName,
+            columns.stream().map(column -> column + " = ?").collect(Collectors.joining(", ")), whereClause));
+    }
+    
+    /**
+     * Insert rows in JDBC batches using the configured db.batch.size, without a wrapping transaction
+     */
+    public BatchResult insertBatch(String tableName, List<Map<String, Object>> rows) {
+        return insertBatch(tableName, rows, config.getIntProperty("db.batch.size", DEFAULT_BATCH_SIZE), false);
+    }
+    
+    /**
+     * Insert rows in JDBC batches; rows are grouped by column set and each group reuses one statement
+     */
+    public BatchResult insertBatch(String tableName, List<Map<String, Object>> rows, int batchSize, boolean transactional) {
+        Map<List<String>, List<Object[]>> groups = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            List<String> columns = new ArrayList<>(new TreeSet<>(row.keySet()));
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row.get(columns.get(i));
+            }
+            groups.computeIfAbsent(columns, k -> new ArrayList<>()).add(values);
+        }
+        
+        TestDataCleaner cleaner = TestDataCleaner.getInstance();
+        String keyColumn = cleaner.getPrimaryKeyColumn(tableName);
+        Map<String, List<Object[]>> statements = new LinkedHashMap<>();
+        Map<String, String> generatedKeyColumns = new HashMap<>();
+        for (Map.Entry<List<String>, List<Object[]>> group : groups.entrySet()) {
+            String sql = insertSql(tableName, group.getKey());
+            statements.put(sql, group.getValue());
+            if (keyColumn != null && !group.getKey().contains(keyColumn)) {
+                generatedKeyColumns.put(sql, keyColumn);
+            }
+        }
+        
+        List<Object> generatedKeys = new ArrayList<>();
+        BatchResult result;
+        try {
+            result = executeBatches("insert", tableName, statements, generatedKeyColumns, generatedKeys,
+                batchSize, transactional);
+        } finally {
+            // Track even when a batch failed: earlier batches may have landed, and cleanup
+            // of a key that never made it is a harmless no-op DELETE
+            for (Object key : generatedKeys) {
+                cleaner.track(tableName, key);
+            }
+            if (keyColumn != null) {
+                for (Map<String, Object> row : rows) {
+                    cleaner.trackRow(tableName, row);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Update rows in JDBC batches, matching each row on its key columns
+     */
+    public BatchResult updateBatch(String tableName, List<Map<String, Object>> rows, List<String> keyColumns) {
+        return updateBatch(tableName, rows, keyColumns, config.getIntProperty("db.batch.size", DEFAULT_BATCH_SIZE), false);
+    }
+    
+    /**
+     * Update rows in JDBC batches; non-key columns are SET and key columns form the WHERE clause
+     */
+    public BatchResult updateBatch(String tableName, List<Map<String, Object>> rows, List<String> keyColumns,
+                                   int batchSize, boolean transactional) {
+        if (keyColumns == null || keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("Batch update requires at least one key column");
+        }
+        
+        Map<List<String>, List<Object[]>> groups = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            List<String> setColumns = new ArrayList<>(new TreeSet<>(row.keySet()));
+            setColumns.removeAll(keyColumns);
+            if (setColumns.isEmpty()) {
+                throw new IllegalArgumentException("Row has no columns to update: " + row);
+            }
+            Object[] values = new Object[setColumns.size() + keyColumns.size()];
+            for (int i = 0; i < setColumns.size(); i++) {
+                values[i] = row.get(setColumns.get(i));
+            }
+            for (int i = 0; i < keyColumns.size(); i++) {
+                if (!row.containsKey(keyColumns.get(i))) {
+                    throw new IllegalArgumentException("Row is missing key column " + keyColumns.get(i) + ": " + row);
+                }
+                values[setColumns.size() + i] = row.get(keyColumns.get(i));
+            }
+            groups.computeIfAbsent(setColumns, k -> new ArrayList<>()).add(values);
+        }
+        
+        String whereClause = keyColumns.stream().map(key -> key + " = ?").collect(Collectors.joining(" AND "));
+        Map<String, List<Object[]>> statements = new LinkedHashMap<>();
+        for (Map.Entry<List<String>, List<Object[]>> group : groups.entrySet()) {
+            statements.put(updateSql(tableName, group.getKey(), whereClause), group.getValue());
+        }
         
-        executeUpdate(query, values.toArray());
+        return executeBatches("update", tableName, statements, Collections.emptyMap(), null, batchSize, transactional);
+    }
+    
+    /**
+     * Run each statement with its parameter rows via addBatch/executeBatch; statements listed in
+     * generatedKeyColumns add the generated values of that column to generatedKeys
+     */
+    private BatchResult executeBatches(String operation, String tableName, Map<String, List<Object[]>> statements,
+                                       Map<String, String> generatedKeyColumns, List<Object> generatedKeys,
+                                       int batchSize, boolean transactional) {
+        BatchResult result = new BatchResult();
+        long startTime = System.nanoTime();
+        int effectiveBatchSize = Math.max(1, batchSize);
+        Connection connection = null;
+        // An already pinned transaction is owned by the caller and is not committed here
+        boolean ownTransaction = transactional && transactionConnection == null;
+        
+        try {
+            connection = borrowConnection();
+            if (ownTransaction) {
+                connection.setAutoCommit(false);
+            }
+            
+            for (Map.Entry<String, List<Object[]>> entry : statements.entrySet()) {
+                String keyColumn = generatedKeyColumns.get(entry.getKey());
+                PreparedStatement statement = prepare(connection, entry.getKey(), keyColumn);
+                try {
+                    int pending = 0;
+                    for (Object[] values : entry.getValue()) {
+                        for (int i = 0; i < values.length; i++) {
+                            statement.setObject(i + 1, values[i]);
+                        }
+                        statement.addBatch();
+                        result.rowsSubmitted++;
+                        if (++pending == effectiveBatchSize) {
+                            result.addCounts(statement.executeBatch());
+                            if (keyColumn != null) {
+                                collectGeneratedKeys(statement, generatedKeys);
+                            }
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        result.addCounts(statement.executeBatch());
+                        if (keyColumn != null) {
+                            collectGeneratedKeys(statement, generatedKeys);
+                        }
+                    }
+                } finally {
+                    closeStatement(connection, statement);
+                }
+            }
+            
+            if (ownTransaction) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            if (ownTransaction && connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    logger.error("Failed to rollback batch {}", operation, rollbackError);
+                }
+            }
+            logger.error("Batch {} into {} failed after {} rows", operation, tableName, result.rowsSubmitted, e);
+            throw new RuntimeException("Batch " + operation + " failed", e);
+        } finally {
+            if (ownTransaction && connection != null) {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    logger.warn("Failed to restore auto-commit on pooled connection", e);
+                }
+            }
+            releaseConnection(connection);
+        }
+        
+        result.elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        result.rowsPerSecond = result.elapsedMillis > 0
+            ? (result.rowsSubmitted * 1000.0) / result.elapsedMillis : result.rowsSubmitted;
+        logger.info("Batch {} into {}: {} rows in {} batches, {} ms ({} rows/s)", operation, tableName,
+            result.rowsSubmitted, result.batches, result.elapsedMillis, String.format("%.0f", result.rowsPerSecond));
+        return result;
     }
     
     /**
@@ -191,11 +639,30 @@ public class DatabaseManager {
     }
     
     /**
-     * Begin transaction
+     * Delete every row tracked by {@link TestDataCleaner} during this run, in foreign-key order
+     */
+    public Map<String, Integer> cleanupTrackedData() {
+        return TestDataCleaner.getInstance().cleanup(this);
+    }
+    
+    /**
+     * Begin transaction, pinning one pooled connection to this manager
      */
     public void beginTransaction() {
+        if (transactionConnection != null) {
+            throw new IllegalStateException("Transaction already in progress");
+        }
         try {
-            connection.setAutoCommit(false);
+            Connection connection = borrowConnection();
+            try {
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+            transactionConnection = connection;
+            transactionStatements = new StatementCache(connection,
+                config.getIntProperty("db.statementCache.size", DEFAULT_STATEMENT_CACHE_SIZE));
             logger.info("Transaction started");
         } catch (SQLException e) {
             logger.error("Failed to start transaction", e);
@@ -207,13 +674,17 @@ public class DatabaseManager {
      * Commit transaction
      */
     public void commitTransaction() {
+        if (transactionConnection == null) {
+            throw new IllegalStateException("No transaction in progress");
+        }
         try {
-            connection.commit();
-            connection.setAutoCommit(true);
+            transactionConnection.commit();
             logger.info("Transaction committed");
         } catch (SQLException e) {
             logger.error("Failed to commit transaction", e);
             throw new RuntimeException("Transaction commit failed", e);
+        } finally {
+            endTransaction();
         }
     }
     
@@ -221,37 +692,92 @@ public class DatabaseManager {
      * Rollback transaction
      */
     public void rollbackTransaction() {
+        if (transactionConnection == null) {
+            return;
+        }
         try {
-            connection.rollback();
-            connection.setAutoCommit(true);
+            transactionConnection.rollback();
             logger.info("Transaction rolled back");
         } catch (SQLException e) {
             logger.error("Failed to rollback transaction", e);
+        } finally {
+            endTransaction();
         }
     }
     
     /**
-     * Close database connection
+     * Restore auto-commit and return the pinned connection to the pool
+     */
+    private void endTransaction() {
+        Connection connection = transactionConnection;
+        transactionStatements.close();
+        transactionStatements = null;
+        transactionConnection = null;
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            logger.warn("Failed to restore auto-commit on pooled connection", e);
+        }
+        releaseConnection(connection);
+    }
+    
+    /**
+     * Detach from the pool, rolling back any open transaction; the shared pool stays open
      */
     public void disconnect() {
-        if (connection != null) {
-            try {
-                connection.close();
-                logger.info("Database connection closed");
-            } catch (SQLException e) {
-                logger.error("Failed to close database connection", e);
-            }
+        if (transactionConnection != null) {
+            logger.warn("Disconnecting with an open transaction; rolling back");
+            rollbackTransaction();
         }
+        dataSource = null;
+        logger.info("Database connection released");
+    }
+    
+    /**
+     * Check if a transaction has pinned a connection to this manager
+     */
+    public boolean isInTransaction() {
+        return transactionConnection != null;
     }
     
     /**
      * Check if connected
      */
     public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed();
-        } catch (SQLException e) {
-            return false;
+        return dataSource != null && ConnectionPoolManager.isRunning();
+    }
+    
+    /**
+     * Current pool metrics (active, idle, total, waiting)
+     */
+    public Map<String, Integer> getPoolMetrics() {
+        return ConnectionPoolManager.getPoolMetrics();
+    }
+    
+    /**
+     * Per-row callback for streaming queries; return false to stop reading
+     */
+    @FunctionalInterface
+    public interface RowCallback {
+        boolean onRow(ResultRow row) throws SQLException;
+    }
+    
+    /**
+     * Outcome and throughput of a batch insert or update
+     */
+    public static class BatchResult {
+        public int rowsSubmitted;
+        public int rowsAffected;
+        public int batches;
+        public long elapsedMillis;
+        public double rowsPerSecond;
+        
+        void addCounts(int[] counts) {
+            batches++;
+            for (int count : counts) {
+                // SUCCESS_NO_INFO means the driver ran the row but did not report a count
+                rowsAffected += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
         }
     }
 }
@@ -0,0 +1,379 @@
+package com.api.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming reader for a single .xlsx sheet
+ * Pulls rows from the sheet XML one at a time instead of loading the workbook,
+ * so memory stays flat regardless of sheet size. The first row supplies the headers,
+ * which are shared by every row returned.
+ */
+public class ExcelSheetReader implements Iterator<Map<String, Object>>, Closeable {
+
+    private static final Logger logger = LogManager.getLogger(ExcelSheetReader.class);
+
+    private final String filePath;
+    private final OPCPackage excelPackage;
+    private final InputStream sheetStream;
+    private final XMLStreamReader xml;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+    private final Headers headers;
+    private Map<String, Object> nextRow;
+    private int rowsRead;
+    private boolean closed;
+
+    private ExcelSheetReader(String filePath, String sheetName) throws IOException, OpenXML4JException,
+            SAXException, XMLStreamException {
+        this.filePath = filePath;
+        this.excelPackage = OPCPackage.open(filePath, PackageAccess.READ);
+        try {
+            XSSFReader reader = new XSSFReader(excelPackage);
+            this.sharedStrings = new ReadOnlySharedStringsTable(excelPackage, false);
+            this.styles = reader.getStylesTable();
+            this.sheetStream = findSheet(reader, sheetName);
+            this.xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetStream);
+
+            Object[] headerValues = readRow();
+            List<String> names = new ArrayList<>();
+            if (headerValues != null) {
+                for (Object value : headerValues) {
+                    names.add(value == null ? "" : value.toString());
+                }
+            }
+            this.headers = new Headers(names);
+        } catch (IOException | OpenXML4JException | SAXException | XMLStreamException | RuntimeException e) {
+            excelPackage.revert();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a sheet for streaming; the caller must close the reader
+     */
+    public static ExcelSheetReader open(String filePath, String sheetName) {
+        try {
+            return new ExcelSheetReader(filePath, sheetName);
+        } catch (IOException | OpenXML4JException | SAXException | XMLStreamException e) {
+            logger.error("Failed to open Excel sheet '{}' in: {}", sheetName, filePath, e);
+            throw new RuntimeException("Failed to open Excel test data", e);
+        }
+    }
+
+    /**
+     * Names of all sheets in a workbook, in workbook order
+     */
+    public static List<String> getSheetNames(String filePath) {
+        try (OPCPackage workbook = OPCPackage.open(filePath, PackageAccess.READ)) {
+            List<String> names = new ArrayList<>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(workbook).getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                names.add(sheets.getSheetName());
+            }
+            return names;
+        } catch (IOException | OpenXML4JException e) {
+            logger.error("Failed to list sheets in: {}", filePath, e);
+            throw new RuntimeException("Failed to open Excel test data", e);
+        }
+    }
+
+    private static InputStream findSheet(XSSFReader reader, String sheetName) throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream stream = sheets.next();
+            if (sheets.getSheetName().equals(sheetName)) {
+                return stream;
+            }
+            stream.close();
+        }
+        throw new RuntimeException("Sheet '" + sheetName + "' not found in Excel file");
+    }
+
+    public List<String> getHeaders() {
+        return headers.names;
+    }
+
+    /**
+     * Number of data rows returned so far
+     */
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !closed) {
+            try {
+                Object[] values = readRow();
+                if (values == null) {
+                    close();
+                } else {
+                    nextRow = new SheetRow(headers, Arrays.copyOf(values, headers.names.size()));
+                }
+            } catch (XMLStreamException e) {
+                close();
+                throw new RuntimeException("Failed to read Excel test data from: " + filePath, e);
+            }
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> row = nextRow;
+        nextRow = null;
+        rowsRead++;
+        return row;
+    }
+
+    /**
+     * Rows as a sequential stream; closing the stream closes the reader
+     */
+    public Stream<Map<String, Object>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Advance to the next <row> element and read its cells; returns null at the end of the sheet
+     */
+    private Object[] readRow() throws XMLStreamException {
+        while (xml.hasNext()) {
+            if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                return readCells();
+            }
+        }
+        return null;
+    }
+
+    private Object[] readCells() throws XMLStreamException {
+        Object[] values = new Object[headers == null ? 16 : Math.max(1, headers.names.size())];
+        int column = -1;
+        int maxColumn = -1;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(xml.getLocalName())) {
+                continue;
+            }
+
+            String reference = xml.getAttributeValue(null, "r");
+            column = reference != null ? columnIndex(reference) : column + 1;
+            String type = xml.getAttributeValue(null, "t");
+            String style = xml.getAttributeValue(null, "s");
+            Object value = readCell(type, style);
+
+            if (headers != null && column >= values.length) {
+                // Cells beyond the header row are dropped, as in the workbook loader
+                continue;
+            }
+            if (column >= values.length) {
+                values = Arrays.copyOf(values, Math.max(column + 1, values.length * 2));
+            }
+            values[column] = value;
+            maxColumn = Math.max(maxColumn, column);
+        }
+        return headers == null ? Arrays.copyOf(values, maxColumn + 1) : values;
+    }
+
+    /**
+     * Read the current <c> element; formula cells yield the formula text, like Cell.getCellFormula()
+     */
+    private Object readCell(String type, String style) throws XMLStreamException {
+        String raw = null;
+        String formula = null;
+        StringBuilder inline = null;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            switch (xml.getLocalName()) {
+                case "v":
+                    raw = xml.getElementText();
+                    break;
+                case "f":
+                    formula = xml.getElementText();
+                    break;
+                case "t":
+                    if (inline == null) {
+                        inline = new StringBuilder();
+                    }
+                    inline.append(xml.getElementText());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (formula != null && !formula.isEmpty()) {
+            return formula;
+        }
+        if ("inlineStr".equals(type)) {
+            return inline == null ? null : inline.toString();
+        }
+        if (raw == null) {
+            return null;
+        }
+        if (type == null || "n".equals(type)) {
+            double number = Double.parseDouble(raw);
+            return isDateStyle(style) && DateUtil.isValidExcelDate(number) ? DateUtil.getJavaDate(number) : number;
+        }
+        switch (type) {
+            case "s":
+                return sharedStrings.getItemAt(Integer.parseInt(raw)).getString();
+            case "str":
+                return raw;
+            case "b":
+                return "1".equals(raw);
+            default:
+                return null;
+        }
+    }
+
+    private boolean isDateStyle(String style) {
+        if (style == null || styles == null) {
+            return false;
+        }
+        return dateStyles.computeIfAbsent(Integer.parseInt(style), index -> {
+            XSSFCellStyle cellStyle = styles.getStyleAt(index);
+            return cellStyle != null
+                    && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+        });
+    }
+
+    /**
+     * Zero-based column index from an A1-style cell reference
+     */
+    private static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            xml.close();
+            sheetStream.close();
+        } catch (XMLStreamException | IOException e) {
+            logger.warn("Failed to close Excel sheet stream: {}", filePath, e);
+        } finally {
+            excelPackage.revert();
+        }
+        logger.info("Streamed {} rows of test data from Excel file: {}", rowsRead, filePath);
+    }
+
+    /**
+     * Header names and their column positions, shared by all rows of a sheet
+     */
+    private static class Headers {
+        private final List<String> names;
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        Headers(List<String> names) {
+            this.names = Collections.unmodifiableList(names);
+            for (int i = 0; i < names.size(); i++) {
+                positions.put(names.get(i), i);
+            }
+        }
+    }
+
+    /**
+     * A data row: the cell values plus a reference to the sheet headers
+     */
+    private static class SheetRow extends AbstractMap<String, Object> {
+        private final Headers headers;
+        private final Object[] values;
+
+        SheetRow(Headers headers, Object[] values) {
+            this.headers = headers;
+            this.values = values;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer position = headers.positions.get(key);
+            return position == null ? null : values[position];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return headers.positions.containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < values.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int current = index++;
+                            return new SimpleImmutableEntry<>(headers.names.get(current), values[current]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+    }
+}
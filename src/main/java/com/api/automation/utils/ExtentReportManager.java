@@ -4,49 +4,80 @@ import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Enhanced Extent Report Manager for comprehensive test reporting
+ * Log calls are handed to a {@link ReportEventSink} so test threads never block on report I/O.
+ * Every worker thread writes to its own ExtentReports partition (a JSON archive), and
+ * {@link #flushReports()} merges all partitions of the run into a single Spark report.
+ * Set -Dreport.run.id to the same value in every surefire fork to merge across forks.
  */
 public class ExtentReportManager {
     
     private static final Logger logger = LogManager.getLogger(ExtentReportManager.class);
-    private static ExtentReports extentReports;
     private static ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
-    private static String reportPath;
+    private static volatile String reportPath;
+    private static final String REPORT_DIR = "target/extent-reports";
+    private static final String PARTITION_DIR = REPORT_DIR + "/partitions";
+    private static final String RUN_ID = System.getProperty("report.run.id",
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss")));
+    private static final Queue<Partition> partitions = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Partition> partition = ThreadLocal.withInitial(ExtentReportManager::newPartition);
+    private static final PayloadStore payloadStore = PayloadStore.fromSystemProperties(REPORT_DIR);
+    private static final ReportEventSink eventSink = ReportEventSink.fromSystemProperties(payloadStore);
+    private static final long FLUSH_TIMEOUT_MS = 30_000;
     
     /**
      * Initialize Extent Reports
      */
-    public static void initializeReport() {
-        if (extentReports == null) {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-            reportPath = "target/extent-reports/API-Test-Report_" + timestamp + ".html";
-            
-            // Create directory if it doesn't exist
-            File reportDir = new File("target/extent-reports");
-            if (!reportDir.exists()) {
-                reportDir.mkdirs();
+    public static synchronized void initializeReport() {
+        if (reportPath == null) {
+            // Create directories if they don't exist
+            File partitionDir = new File(PARTITION_DIR);
+            if (!partitionDir.exists()) {
+                partitionDir.mkdirs();
             }
             
-            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
-            configureSparkReporter(sparkReporter);
-            
-            extentReports = new ExtentReports();
-            extentReports.attachReporter(sparkReporter);
-            setSystemInfo();
-            
+            reportPath = REPORT_DIR + "/API-Test-Report_" + RUN_ID + ".html";
             logger.info("Extent Report initialized at: {}", reportPath);
         }
     }
     
+    /**
+     * Create a partition for the calling thread, written as a JSON archive
+     * The formatter writes a hidden file (JsonFormatter insists on a .json suffix, so the
+     * leading dot keeps it out of the merge filter) that is moved over the archive after
+     * each flush, so a fork merging concurrently never reads a half-written partition
+     */
+    private static Partition newPartition() {
+        initializeReport();
+        String fileName = RUN_ID + "-" + ProcessHandle.current().pid() + "-" + Thread.currentThread().getId() + ".json";
+        File jsonFile = new File(PARTITION_DIR, fileName);
+        File partFile = new File(PARTITION_DIR, "." + fileName);
+        
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(new JsonFormatter(partFile));
+        
+        Partition created = new Partition(reports, jsonFile, partFile);
+        partitions.add(created);
+        logger.debug("Created report partition: {}", jsonFile);
+        return created;
+    }
+    
     /**
      * Configure Spark Reporter
      */
@@ -61,7 +92,7 @@ public class ExtentReportManager {
     /**
      * Set system information
      */
-    private static void setSystemInfo() {
+    private static void setSystemInfo(ExtentReports extentReports) {
         extentReports.setSystemInfo("Operating System", System.getProperty("os.name"));
         extentReports.setSystemInfo("Java Version", System.getProperty("java.version"));
         extentReports.setSystemInfo("User Name", System.getProperty("user.name"));
@@ -70,10 +101,10 @@ public class ExtentReportManager {
     }
     
     /**
-     * Create test entry
+     * Create test entry in the calling thread's partition
      */
     public static ExtentTest createTest(String testName, String description) {
-        ExtentTest test = extentReports.createTest(testName, description);
+        ExtentTest test = partition.get().reports.createTest(testName, description);
         extentTest.set(test);
         return test;
     }
@@ -89,50 +120,35 @@ public class ExtentReportManager {
      * Log info message
      */
     public static void logInfo(String message) {
-        if (getTest() != null) {
-            getTest().log(Status.INFO, message);
-        }
-        logger.info(message);
+        eventSink.publish(ReportEventSink.ReportEvent.message(getTest(), Status.INFO, message));
     }
     
     /**
      * Log pass message
      */
     public static void logPass(String message) {
-        if (getTest() != null) {
-            getTest().log(Status.PASS, message);
-        }
-        logger.info("PASS: {}", message);
+        eventSink.publish(ReportEventSink.ReportEvent.message(getTest(), Status.PASS, message));
     }
     
     /**
      * Log fail message
      */
     public static void logFail(String message) {
-        if (getTest() != null) {
-            getTest().log(Status.FAIL, message);
-        }
-        logger.error("FAIL: {}", message);
+        eventSink.publish(ReportEventSink.ReportEvent.message(getTest(), Status.FAIL, message));
     }
     
     /**
      * Log warning message
      */
     public static void logWarning(String message) {
-        if (getTest() != null) {
-            getTest().log(Status.WARNING, message);
-        }
-        logger.warn("WARNING: {}", message);
+        eventSink.publish(ReportEventSink.ReportEvent.message(getTest(), Status.WARNING, message));
     }
     
     /**
      * Log skip message
      */
     public static void logSkip(String message) {
-        if (getTest() != null) {
-            getTest().log(Status.SKIP, message);
-        }
-        logger.warn("SKIP: {}", message);
+        eventSink.publish(ReportEventSink.ReportEvent.message(getTest(), Status.SKIP, message));
     }
     
     /**
@@ -140,14 +156,7 @@ public class ExtentReportManager {
      */
     public static void logApiRequest(String method, String endpoint, String requestBody) {
         if (getTest() != null) {
-            String requestDetails = String.format(
-                "<b>API Request:</b><br>" +
-                "Method: %s<br>" +
-                "Endpoint: %s<br>" +
-                "Request Body: <pre>%s</pre>",
-                method, endpoint, requestBody != null ? requestBody : "No body"
-            );
-            getTest().log(Status.INFO, requestDetails);
+            eventSink.publish(ReportEventSink.ReportEvent.apiRequest(getTest(), method, endpoint, requestBody));
         }
     }
     
@@ -156,25 +165,58 @@ public class ExtentReportManager {
      */
     public static void logApiResponse(int statusCode, String responseBody, long responseTime) {
         if (getTest() != null) {
-            String responseDetails = String.format(
-                "<b>API Response:</b><br>" +
-                "Status Code: %d<br>" +
-                "Response Time: %d ms<br>" +
-                "Response Body: <pre>%s</pre>",
-                statusCode, responseTime, responseBody != null ? responseBody : "No response body"
-            );
-            getTest().log(Status.INFO, responseDetails);
+            eventSink.publish(ReportEventSink.ReportEvent.apiResponse(getTest(), statusCode, responseBody, responseTime));
         }
     }
     
     /**
-     * Flush reports
+     * Flush all partitions and merge them into the Spark report
      */
-    public static void flushReports() {
-        if (extentReports != null) {
-            extentReports.flush();
-            logger.info("Extent Report flushed successfully");
+    public static synchronized void flushReports() {
+        // Drain queued events so the written report is complete
+        eventSink.flush(FLUSH_TIMEOUT_MS);
+        if (partitions.isEmpty()) {
+            return;
+        }
+        
+        for (Partition each : partitions) {
+            try {
+                each.reports.flush();
+                if (each.partFile.exists()) {
+                    Files.move(each.partFile.toPath(), each.jsonFile.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException | RuntimeException e) {
+                // JsonFormatter needs --add-opens java.base/java.lang on JDK 16+
+                logger.error("Failed to write report partition: {}", each.jsonFile, e);
+            }
+        }
+        
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
+        configureSparkReporter(sparkReporter);
+        ExtentReports merged = new ExtentReports();
+        merged.attachReporter(sparkReporter);
+        setSystemInfo(merged);
+        
+        // Includes partitions written by other forks sharing the same run id
+        File[] archives = new File(PARTITION_DIR).listFiles(
+                (dir, name) -> name.startsWith(RUN_ID + "-") && name.endsWith(".json"));
+        int mergedCount = 0;
+        if (archives != null) {
+            Arrays.sort(archives);
+            for (File archive : archives) {
+                try {
+                    merged.createDomainFromJsonArchive(archive);
+                    mergedCount++;
+                } catch (IOException | RuntimeException e) {
+                    // One corrupt archive must not cost the whole run its report
+                    logger.error("Failed to merge report partition: {}", archive, e);
+                }
+            }
         }
+        
+        merged.flush();
+        logger.info("Extent Report flushed successfully ({} partitions merged)", mergedCount);
     }
     
     /**
@@ -184,10 +226,38 @@ public class ExtentReportManager {
         return reportPath;
     }
     
+    /**
+     * Finish the calling thread's test with its result: waits until the writer has logged
+     * every queued event of the thread, so only the test thread touches the node from here
+     */
+    public static void endTest(Status status, String details) {
+        eventSink.flushCurrentThread(FLUSH_TIMEOUT_MS);
+        ExtentTest test = getTest();
+        if (test != null) {
+            test.log(status, details);
+        }
+        removeTest();
+    }
+    
     /**
      * Clean up thread local
      */
     public static void removeTest() {
         extentTest.remove();
     }
+    
+    /**
+     * Per-thread report partition
+     */
+    private static class Partition {
+        private final ExtentReports reports;
+        private final File jsonFile;
+        private final File partFile;
+        
+        Partition(ExtentReports reports, File jsonFile, File partFile) {
+            this.reports = reports;
+            this.jsonFile = jsonFile;
+            this.partFile = partFile;
+        }
+    }
 }
@@ -0,0 +1,379 @@
+package com.api.automation.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Compiles JSON and Excel test data into binary fixture files (.tdf) for FixtureTable
+ * Every array of objects in a JSON file and every sheet of a workbook becomes one fixture,
+ * named after the file and the array path or sheet (test-data.testScenarios.userCreation).
+ * Columns are stored contiguously with fixed-width values, and all strings are interned
+ * into one table, so a fixture can be memory-mapped and read without deserialization.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int version, int rowCount, int columnCount, int stringCount
+ * columnCount x (int nameStringId, byte type, long dataOffset)
+ * int[stringCount + 1] string offsets, UTF-8 string bytes
+ * per column: null bitmap ((rowCount + 7) / 8 bytes), then rowCount fixed-width values
+ * </pre>
+ *
+ * Run as a build step with: mvn process-test-classes -Pfixtures
+ */
+public class FixtureCompiler {
+
+    private static final Logger logger = LogManager.getLogger(FixtureCompiler.class);
+    private static final ObjectMapper objectMapper = ObjectMapperProvider.mapper();
+
+    static final int MAGIC = 0x54444658;
+    static final int VERSION = 1;
+    static final String EXTENSION = ".tdf";
+
+    static final byte TYPE_INT = 1;
+    static final byte TYPE_LONG = 2;
+    static final byte TYPE_DOUBLE = 3;
+    static final byte TYPE_BOOLEAN = 4;
+    static final byte TYPE_STRING = 5;
+    static final byte TYPE_DATE = 6;
+    static final byte TYPE_JSON = 7;
+
+    private FixtureCompiler() {}
+
+    public static void main(String[] args) {
+        Path sourceDir = Paths.get(args.length > 0 ? args[0] : "src/test/resources/testdata");
+        Path outputDir = Paths.get(args.length > 1 ? args[1] : "target/test-fixtures");
+        int compiled = compileStale(sourceDir, outputDir);
+        logger.info("Compiled {} fixture source(s) from {} into {}", compiled, sourceDir, outputDir);
+    }
+
+    /**
+     * Compile every JSON/Excel source whose fixtures are missing or older than the source
+     */
+    public static int compileStale(Path sourceDir, Path outputDir) {
+        if (!Files.isDirectory(sourceDir)) {
+            return 0;
+        }
+        int compiled = 0;
+        try (Stream<Path> sources = Files.list(sourceDir)) {
+            for (Path source : (Iterable<Path>) sources.sorted()::iterator) {
+                String fileName = source.getFileName().toString();
+                if (!(fileName.endsWith(".json") || fileName.endsWith(".xlsx"))) {
+                    continue;
+                }
+                if (isStale(source, outputDir)) {
+                    compile(source, outputDir);
+                    compiled++;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to compile fixtures from: {}", sourceDir, e);
+            throw new RuntimeException("Fixture compilation failed", e);
+        }
+        return compiled;
+    }
+
+    /**
+     * Fixtures are tracked by a marker per source listing its fixture files, written after all of them
+     */
+    private static boolean isStale(Path source, Path outputDir) throws IOException {
+        Path marker = markerFor(source, outputDir);
+        return !Files.exists(marker)
+                || Files.getLastModifiedTime(marker).compareTo(Files.getLastModifiedTime(source)) < 0;
+    }
+
+    /**
+     * Compile all fixtures of one source file, removing fixtures of arrays or sheets it no longer has
+     */
+    public static void compile(Path source, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        String baseName = baseName(source);
+        long startTime = System.currentTimeMillis();
+        Path marker = markerFor(source, outputDir);
+
+        // Drop the marker first, so an interrupted compile leaves the source stale
+        List<String> previous = Files.exists(marker) ? Files.readAllLines(marker, StandardCharsets.UTF_8)
+                : Collections.emptyList();
+        Files.deleteIfExists(marker);
+
+        List<String> written = new ArrayList<>();
+        if (source.getFileName().toString().endsWith(".json")) {
+            for (String arrayPath : findObjectArrays(source.toFile())) {
+                String fixtureFile = baseName + arrayPath.replace('/', '.') + EXTENSION;
+                try (JsonStreamReader<Object> rows = JsonStreamReader.open(source.toString(), arrayPath, Object.class)) {
+                    write(rows, outputDir.resolve(fixtureFile));
+                }
+                written.add(fixtureFile);
+            }
+        } else {
+            for (String sheetName : ExcelSheetReader.getSheetNames(source.toString())) {
+                String fixtureFile = baseName + "." + sheetName + EXTENSION;
+                try (ExcelSheetReader rows = ExcelSheetReader.open(source.toString(), sheetName)) {
+                    write(rows, outputDir.resolve(fixtureFile));
+                }
+                written.add(fixtureFile);
+            }
+        }
+
+        for (String fixtureFile : previous) {
+            if (!fixtureFile.isEmpty() && !written.contains(fixtureFile)) {
+                Files.deleteIfExists(outputDir.resolve(fixtureFile));
+                logger.info("Removed fixture {} no longer produced by {}", fixtureFile, source);
+            }
+        }
+        Files.write(marker, written, StandardCharsets.UTF_8);
+        logger.info("Compiled fixtures for {} in {} ms", source, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Keyed on the full file name, so test-data.json and test-data.xlsx keep separate markers
+     */
+    private static Path markerFor(Path source, Path outputDir) {
+        return outputDir.resolve(source.getFileName() + ".compiled");
+    }
+
+    private static String baseName(Path source) {
+        String fileName = source.getFileName().toString();
+        return fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+
+    /**
+     * JSON pointers of all arrays whose elements are objects, outside other arrays
+     */
+    static List<String> findObjectArrays(File file) throws IOException {
+        List<String> arrays = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(file)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                scanObject(parser, "", arrays);
+            } else if (token == JsonToken.START_ARRAY) {
+                scanArray(parser, "", arrays);
+            }
+        }
+        return arrays;
+    }
+
+    private static void scanObject(JsonParser parser, String path, List<String> arrays) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String childPath = path + "/" + parser.getCurrentName().replace("~", "~0").replace("/", "~1");
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_OBJECT) {
+                scanObject(parser, childPath, arrays);
+            } else if (value == JsonToken.START_ARRAY) {
+                scanArray(parser, childPath, arrays);
+            }
+        }
+    }
+
+    private static void scanArray(JsonParser parser, String path, List<String> arrays) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            arrays.add(path);
+        }
+        while (token != null && token != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            token = parser.nextToken();
+        }
+    }
+
+    /**
+     * Buffer the rows column by column, then write the fixture atomically
+     */
+    static void write(Iterator<?> rows, Path target) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<String, ColumnBuilder> columns = new LinkedHashMap<>();
+        int rowCount = 0;
+
+        while (rows.hasNext()) {
+            Object row = rows.next();
+            if (!(row instanceof Map)) {
+                throw new IllegalArgumentException("Fixture rows must be objects: " + target);
+            }
+            for (Map.Entry<?, ?> cell : ((Map<?, ?>) row).entrySet()) {
+                String name = String.valueOf(cell.getKey());
+                ColumnBuilder column = columns.computeIfAbsent(name, ColumnBuilder::new);
+                column.set(rowCount, cell.getValue());
+            }
+            rowCount++;
+        }
+
+        for (ColumnBuilder column : columns.values()) {
+            column.intern(strings, rowCount);
+        }
+
+        List<byte[]> encoded = new ArrayList<>(strings.size());
+        long stringBytes = 0;
+        for (String value : strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            stringBytes += bytes.length;
+        }
+
+        int bitmapSize = (rowCount + 7) / 8;
+        long offset = 20L + columns.size() * 13L + 4L * (strings.size() + 1) + stringBytes;
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(rowCount);
+            out.writeInt(columns.size());
+            out.writeInt(strings.size());
+
+            for (ColumnBuilder column : columns.values()) {
+                out.writeInt(strings.get(column.name));
+                out.writeByte(column.type);
+                out.writeLong(offset);
+                offset += bitmapSize + (long) rowCount * width(column.type);
+            }
+
+            int stringOffset = 0;
+            out.writeInt(0);
+            for (byte[] bytes : encoded) {
+                stringOffset += bytes.length;
+                out.writeInt(stringOffset);
+            }
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+
+            for (ColumnBuilder column : columns.values()) {
+                column.writeTo(out, rowCount, strings);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        // Forks compiling concurrently must never map a half-written file
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.debug("Wrote fixture {} ({} rows, {} columns, {} strings)", target, rowCount, columns.size(), strings.size());
+    }
+
+    static int width(byte type) {
+        switch (type) {
+            case TYPE_BOOLEAN:
+                return 1;
+            case TYPE_INT:
+            case TYPE_STRING:
+            case TYPE_JSON:
+                return 4;
+            default:
+                return 8;
+        }
+    }
+
+    /**
+     * Values of one column while compiling; the narrowest type that fits all values wins
+     */
+    private static class ColumnBuilder {
+        private final String name;
+        private final List<Object> values = new ArrayList<>();
+        private byte type;
+
+        ColumnBuilder(String name) {
+            this.name = name;
+        }
+
+        void set(int row, Object value) {
+            while (values.size() < row) {
+                values.add(null);
+            }
+            values.add(value);
+            if (value != null) {
+                type = widen(type, typeOf(value));
+            }
+        }
+
+        private static byte typeOf(Object value) {
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return TYPE_INT;
+            } else if (value instanceof Long) {
+                return TYPE_LONG;
+            } else if (value instanceof Double || value instanceof Float) {
+                return TYPE_DOUBLE;
+            } else if (value instanceof Boolean) {
+                return TYPE_BOOLEAN;
+            } else if (value instanceof String) {
+                return TYPE_STRING;
+            } else if (value instanceof Date) {
+                return TYPE_DATE;
+            }
+            return TYPE_JSON;
+        }
+
+        private static byte widen(byte current, byte next) {
+            if (current == 0 || current == next) {
+                return next;
+            }
+            boolean numeric = current <= TYPE_DOUBLE && next <= TYPE_DOUBLE;
+            return numeric ? (byte) Math.max(current, next) : TYPE_JSON;
+        }
+
+        void intern(Map<String, Integer> strings, int rowCount) throws IOException {
+            if (type == 0) {
+                type = TYPE_STRING;
+            }
+            strings.putIfAbsent(name, strings.size());
+            while (values.size() < rowCount) {
+                values.add(null);
+            }
+            if (type == TYPE_STRING || type == TYPE_JSON) {
+                for (int i = 0; i < values.size(); i++) {
+                    Object value = values.get(i);
+                    if (value != null) {
+                        String text = type == TYPE_STRING ? (String) value : objectMapper.writeValueAsString(value);
+                        values.set(i, text);
+                        strings.putIfAbsent(text, strings.size());
+                    }
+                }
+            }
+        }
+
+        void writeTo(DataOutputStream out, int rowCount, Map<String, Integer> strings) throws IOException {
+            byte[] nulls = new byte[(rowCount + 7) / 8];
+            for (int i = 0; i < rowCount; i++) {
+                if (values.get(i) == null) {
+                    nulls[i >>> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            out.write(nulls);
+
+            for (int i = 0; i < rowCount; i++) {
+                Object value = values.get(i);
+                switch (type) {
+                    case TYPE_INT:
+                        out.writeInt(value == null ? 0 : ((Number) value).intValue());
+                        break;
+                    case TYPE_LONG:
+                        out.writeLong(value == null ? 0 : ((Number) value).longValue());
+                        break;
+                    case TYPE_DOUBLE:
+                        out.writeDouble(value == null ? 0 : ((Number) value).doubleValue());
+                        break;
+                    case TYPE_BOOLEAN:
+                        out.writeByte(Boolean.TRUE.equals(value) ? 1 : 0);
+                        break;
+                    case TYPE_DATE:
+                        out.writeLong(value == null ? 0 : ((Date) value).getTime());
+                        break;
+                    default:
+                        out.writeInt(value == null ? -1 : strings.get((String) value));
+                        break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.api.automation.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static com.api.automation.utils.FixtureCompiler.*;
+
+/**
+ * Read-only, memory-mapped view of a compiled fixture (see FixtureCompiler)
+ * Opening a fixture only reads the column directory; rows and strings are decoded on
+ * access straight from the mapping. Since the file is mapped read-only, every surefire
+ * fork shares the same physical pages through the OS page cache.
+ */
+public class FixtureTable {
+
+    private static final ObjectMapper objectMapper = ObjectMapperProvider.mapper();
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private final String[] columnNames;
+    private final byte[] columnTypes;
+    private final long[] columnOffsets;
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final int stringOffsetsStart;
+    private final int stringDataStart;
+    private final String[] stringCache;
+
+    private FixtureTable(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a compiled fixture (or wrong version): " + path);
+        }
+        this.rowCount = buffer.getInt(8);
+        int columnCount = buffer.getInt(12);
+        int stringCount = buffer.getInt(16);
+        this.stringOffsetsStart = 20 + columnCount * 13;
+        this.stringDataStart = stringOffsetsStart + 4 * (stringCount + 1);
+        this.stringCache = new String[stringCount];
+
+        this.columnNames = new String[columnCount];
+        this.columnTypes = new byte[columnCount];
+        this.columnOffsets = new long[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            int entry = 20 + i * 13;
+            columnNames[i] = string(buffer.getInt(entry));
+            columnTypes[i] = buffer.get(entry + 4);
+            columnOffsets[i] = buffer.getLong(entry + 5);
+            columnIndex.put(columnNames[i], i);
+        }
+    }
+
+    /**
+     * Map a compiled fixture file
+     */
+    public static FixtureTable open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Fixture larger than 2 GB: " + path);
+            }
+            return new FixtureTable(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to map fixture: " + path, e);
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(columnNames));
+    }
+
+    /**
+     * Column position by name, or -1 if the fixture has no such column
+     */
+    public int indexOf(String columnName) {
+        Integer index = columnIndex.get(columnName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Value at a row and column, typed as it was in the source
+     */
+    public Object getValue(int row, int column) {
+        checkRow(row);
+        long base = columnOffsets[column];
+        if (isNull(base, row)) {
+            return null;
+        }
+        int valueOffset = (int) (base + (rowCount + 7) / 8 + (long) row * width(columnTypes[column]));
+        switch (columnTypes[column]) {
+            case TYPE_INT:
+                return buffer.getInt(valueOffset);
+            case TYPE_LONG:
+                return buffer.getLong(valueOffset);
+            case TYPE_DOUBLE:
+                return buffer.getDouble(valueOffset);
+            case TYPE_BOOLEAN:
+                return buffer.get(valueOffset) != 0;
+            case TYPE_DATE:
+                return new Date(buffer.getLong(valueOffset));
+            case TYPE_STRING:
+                return string(buffer.getInt(valueOffset));
+            case TYPE_JSON:
+                return json(string(buffer.getInt(valueOffset)));
+            default:
+                throw new IllegalStateException("Unknown column type " + columnTypes[column] + " in " + path);
+        }
+    }
+
+    public Object getValue(int row, String columnName) {
+        int column = indexOf(columnName);
+        return column < 0 ? null : getValue(row, column);
+    }
+
+    public String getString(int row, String columnName) {
+        Object value = getValue(row, columnName);
+        return value == null ? null : value.toString();
+    }
+
+    public long getLong(int row, String columnName) {
+        Object value = getValue(row, columnName);
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    public double getDouble(int row, String columnName) {
+        Object value = getValue(row, columnName);
+        return value == null ? 0.0 : ((Number) value).doubleValue();
+    }
+
+    /**
+     * Row as a read-only map; values are decoded from the mapping on each access
+     */
+    public Map<String, Object> getRow(int row) {
+        checkRow(row);
+        return new FixtureRow(row);
+    }
+
+    /**
+     * All rows in order
+     */
+    public Iterator<Map<String, Object>> rows() {
+        return new Iterator<Map<String, Object>>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < rowCount;
+            }
+
+            @Override
+            public Map<String, Object> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getRow(next++);
+            }
+        };
+    }
+
+    private boolean isNull(long base, int row) {
+        return (buffer.get((int) (base + (row >>> 3))) & (1 << (row & 7))) != 0;
+    }
+
+    /**
+     * Decode an interned string once; racing decodes produce equal strings, so no locking is needed
+     */
+    private String string(int id) {
+        String value = stringCache[id];
+        if (value == null) {
+            int start = buffer.getInt(stringOffsetsStart + 4 * id);
+            int end = buffer.getInt(stringOffsetsStart + 4 * (id + 1));
+            byte[] bytes = new byte[end - start];
+            ByteBuffer view = buffer.duplicate();
+            view.position(stringDataStart + start);
+            view.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            stringCache[id] = value;
+        }
+        return value;
+    }
+
+    private Object json(String text) {
+        try {
+            return objectMapper.readValue(text, Object.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Corrupt JSON value in fixture: " + path, e);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for fixture with " + rowCount + " rows");
+        }
+    }
+
+    /**
+     * Map view of one fixture row
+     */
+    private class FixtureRow extends AbstractMap<String, Object> {
+        private final int row;
+
+        FixtureRow(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer column = columnIndex.get(key);
+            return column == null ? null : getValue(row, column);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columnIndex.containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int column;
+
+                        @Override
+                        public boolean hasNext() {
+                            return column < columnNames.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int current = column++;
+                            return new SimpleImmutableEntry<>(columnNames[current], getValue(row, current));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columnNames.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,539 @@
+package com.api.automation.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Structural diff of two JSON documents, walking both token streams in lockstep
+ * Nothing is buffered while both sides agree on structure and field order, which is the
+ * common case for API responses. Only a subtree that cannot be compared in lockstep is
+ * read into a tree: the rest of an object whose fields arrive in a different order, and
+ * arrays compared without regard to order. The walk stops as soon as the difference limit
+ * is reached, so a boolean check ends at the first mismatch.
+ */
+public class JsonDiff {
+
+    private static final ObjectMapper objectMapper = ObjectMapperProvider.mapper();
+    private static final JsonFactory jsonFactory = objectMapper.getFactory();
+
+    private final Options options;
+    private List<Difference> differences = new ArrayList<>();
+    private int limit;
+
+    // Current path: a field name per level, or null with the index for array elements
+    private String[] names = new String[16];
+    private int[] indexes = new int[16];
+    private int depth;
+
+    private JsonDiff(Options options, int limit) {
+        this.options = options;
+        this.limit = limit;
+    }
+
+    /**
+     * Differences between two documents, up to the options' limit, in document order
+     */
+    public static List<Difference> compare(String expected, String actual, Options options) {
+        try (JsonParser left = jsonFactory.createParser(expected);
+             JsonParser right = jsonFactory.createParser(actual)) {
+            return run(left, right, options, options.maxDifferences);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to diff JSON documents", e);
+        }
+    }
+
+    public static List<Difference> compare(byte[] expected, byte[] actual, Options options) {
+        try (JsonParser left = jsonFactory.createParser(expected);
+             JsonParser right = jsonFactory.createParser(actual)) {
+            return run(left, right, options, options.maxDifferences);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to diff JSON documents", e);
+        }
+    }
+
+    /**
+     * Check two documents for equality, stopping at the first difference
+     */
+    public static boolean matches(String expected, String actual, Options options) {
+        try (JsonParser left = jsonFactory.createParser(expected);
+             JsonParser right = jsonFactory.createParser(actual)) {
+            return run(left, right, options, 1).isEmpty();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to diff JSON documents", e);
+        }
+    }
+
+    public static boolean matches(byte[] expected, byte[] actual, Options options) {
+        try (JsonParser left = jsonFactory.createParser(expected);
+             JsonParser right = jsonFactory.createParser(actual)) {
+            return run(left, right, options, 1).isEmpty();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to diff JSON documents", e);
+        }
+    }
+
+    private static List<Difference> run(JsonParser left, JsonParser right, Options options, int limit)
+            throws IOException {
+        JsonDiff diff = new JsonDiff(options, Math.max(1, limit));
+        JsonToken expectedToken = left.nextToken();
+        JsonToken actualToken = right.nextToken();
+        if (expectedToken == null || actualToken == null) {
+            if (expectedToken != actualToken) {
+                diff.record(expectedToken == null ? "<empty>" : describe(left),
+                        actualToken == null ? "<empty>" : describe(right));
+            }
+            return diff.differences;
+        }
+        if (diff.compareValue(left, right)) {
+            // Stopping early at the limit leaves both parsers mid-document; otherwise both must be done
+            rejectTrailing(left, "Expected");
+            rejectTrailing(right, "Actual");
+        }
+        return diff.differences;
+    }
+
+    private static void rejectTrailing(JsonParser parser, String side) throws IOException {
+        if (parser.nextToken() != null) {
+            throw new IllegalArgumentException(side + " JSON has trailing content after the document: " + describe(parser));
+        }
+    }
+
+    /**
+     * Compare the values both parsers are positioned on; false once the limit is reached
+     */
+    private boolean compareValue(JsonParser left, JsonParser right) throws IOException {
+        if (isIgnored()) {
+            left.skipChildren();
+            right.skipChildren();
+            return true;
+        }
+        JsonToken expected = left.currentToken();
+        JsonToken actual = right.currentToken();
+
+        if (expected == JsonToken.START_OBJECT && actual == JsonToken.START_OBJECT) {
+            return compareObjects(left, right);
+        }
+        if (expected == JsonToken.START_ARRAY && actual == JsonToken.START_ARRAY) {
+            return isUnordered() ? compareUnorderedArrays(left, right) : compareArrays(left, right);
+        }
+        if (expected.isNumeric() && actual.isNumeric()) {
+            return numbersEqual(left, right) || record(describe(left), describe(right));
+        }
+        if (expected != actual) {
+            boolean more = record(describe(left), describe(right));
+            left.skipChildren();
+            right.skipChildren();
+            return more;
+        }
+        if (expected == JsonToken.VALUE_STRING && !textEqual(left, right)) {
+            return record(describe(left), describe(right));
+        }
+        return true;
+    }
+
+    private boolean compareObjects(JsonParser left, JsonParser right) throws IOException {
+        while (true) {
+            JsonToken expected = left.nextToken();
+            JsonToken actual = right.nextToken();
+            if (expected == JsonToken.END_OBJECT && actual == JsonToken.END_OBJECT) {
+                return true;
+            }
+            if (expected == JsonToken.FIELD_NAME && actual == JsonToken.FIELD_NAME
+                    && left.currentName().equals(right.currentName())) {
+                push(left.currentName());
+                left.nextToken();
+                right.nextToken();
+                boolean more = compareValue(left, right);
+                pop();
+                if (!more) {
+                    return false;
+                }
+                continue;
+            }
+            // Field order diverged: compare the rest of both objects by name
+            return compareFields(bufferFields(left, expected), bufferFields(right, actual));
+        }
+    }
+
+    private boolean compareFields(Map<String, JsonNode> expected, Map<String, JsonNode> actual) throws IOException {
+        for (Map.Entry<String, JsonNode> field : expected.entrySet()) {
+            push(field.getKey());
+            JsonNode actualValue = actual.get(field.getKey());
+            boolean more = actualValue == null
+                    ? isIgnored() || record(field.getValue().toString(), "<missing>")
+                    : compareNodes(field.getValue(), actualValue);
+            pop();
+            if (!more) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, JsonNode> field : actual.entrySet()) {
+            if (!expected.containsKey(field.getKey())) {
+                push(field.getKey());
+                boolean more = isIgnored() || record("<missing>", field.getValue().toString());
+                pop();
+                if (!more) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean compareArrays(JsonParser left, JsonParser right) throws IOException {
+        for (int index = 0; ; index++) {
+            JsonToken expected = left.nextToken();
+            JsonToken actual = right.nextToken();
+            if (expected == JsonToken.END_ARRAY && actual == JsonToken.END_ARRAY) {
+                return true;
+            }
+            push(index);
+            boolean more;
+            if (expected == JsonToken.END_ARRAY) {
+                more = isIgnored() || record("<missing>", describe(right));
+                right.skipChildren();
+            } else if (actual == JsonToken.END_ARRAY) {
+                more = isIgnored() || record(describe(left), "<missing>");
+                left.skipChildren();
+            } else {
+                more = compareValue(left, right);
+            }
+            pop();
+            if (!more) {
+                return false;
+            }
+            // Keep draining the longer side; the shorter one stays on END_ARRAY
+            if (expected == JsonToken.END_ARRAY) {
+                return drainExtra(right, index + 1, false);
+            }
+            if (actual == JsonToken.END_ARRAY) {
+                return drainExtra(left, index + 1, true);
+            }
+        }
+    }
+
+    private boolean drainExtra(JsonParser parser, int index, boolean expectedSide) throws IOException {
+        for (; parser.nextToken() != JsonToken.END_ARRAY; index++) {
+            push(index);
+            boolean more = isIgnored()
+                    || (expectedSide ? record(describe(parser), "<missing>") : record("<missing>", describe(parser)));
+            pop();
+            parser.skipChildren();
+            if (!more) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Match every expected element to an equal, not yet matched actual element
+     */
+    private boolean compareUnorderedArrays(JsonParser left, JsonParser right) throws IOException {
+        List<JsonNode> expected = bufferElements(left);
+        List<JsonNode> actual = bufferElements(right);
+        boolean[] matched = new boolean[actual.size()];
+
+        for (int i = 0; i < expected.size(); i++) {
+            push(i);
+            boolean found = false;
+            for (int j = 0; j < actual.size() && !found; j++) {
+                if (!matched[j] && probe(expected.get(i), actual.get(j))) {
+                    matched[j] = true;
+                    found = true;
+                }
+            }
+            boolean more = found || isIgnored() || record(expected.get(i).toString(), "<missing>");
+            pop();
+            if (!more) {
+                return false;
+            }
+        }
+        for (int j = 0; j < actual.size(); j++) {
+            if (!matched[j]) {
+                push(j);
+                boolean more = isIgnored() || record("<missing>", actual.get(j).toString());
+                pop();
+                if (!more) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compare two subtrees without reporting, stopping at the first difference
+     */
+    private boolean probe(JsonNode expected, JsonNode actual) throws IOException {
+        List<Difference> saved = differences;
+        int savedLimit = limit;
+        differences = new ArrayList<>(1);
+        limit = 1;
+        try {
+            compareNodes(expected, actual);
+            return differences.isEmpty();
+        } finally {
+            differences = saved;
+            limit = savedLimit;
+        }
+    }
+
+    private boolean compareNodes(JsonNode expected, JsonNode actual) throws IOException {
+        try (JsonParser left = expected.traverse(objectMapper);
+             JsonParser right = actual.traverse(objectMapper)) {
+            left.nextToken();
+            right.nextToken();
+            return compareValue(left, right);
+        }
+    }
+
+    private static Map<String, JsonNode> bufferFields(JsonParser parser, JsonToken token) throws IOException {
+        Map<String, JsonNode> fields = new LinkedHashMap<>();
+        while (token == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            fields.put(name, parser.readValueAsTree());
+            token = parser.nextToken();
+        }
+        return fields;
+    }
+
+    private static List<JsonNode> bufferElements(JsonParser parser) throws IOException {
+        List<JsonNode> elements = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            elements.add(parser.readValueAsTree());
+        }
+        return elements;
+    }
+
+    private boolean numbersEqual(JsonParser left, JsonParser right) throws IOException {
+        if (options.numericTolerance > 0) {
+            return Math.abs(left.getDoubleValue() - right.getDoubleValue()) <= options.numericTolerance;
+        }
+        if (isLongValue(left) && isLongValue(right)) {
+            return left.getLongValue() == right.getLongValue();
+        }
+        return left.getDecimalValue().compareTo(right.getDecimalValue()) == 0;
+    }
+
+    private static boolean isLongValue(JsonParser parser) throws IOException {
+        JsonParser.NumberType type = parser.getNumberType();
+        return type == JsonParser.NumberType.INT || type == JsonParser.NumberType.LONG;
+    }
+
+    /**
+     * Compare string values in the parsers' own buffers, without creating Strings
+     */
+    private static boolean textEqual(JsonParser left, JsonParser right) throws IOException {
+        int length = left.getTextLength();
+        if (length != right.getTextLength()) {
+            return false;
+        }
+        char[] a = left.getTextCharacters();
+        char[] b = right.getTextCharacters();
+        int offsetA = left.getTextOffset();
+        int offsetB = right.getTextOffset();
+        for (int i = 0; i < length; i++) {
+            if (a[offsetA + i] != b[offsetB + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String describe(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return "{...}";
+        } else if (token == JsonToken.START_ARRAY) {
+            return "[...]";
+        } else if (token == JsonToken.VALUE_STRING) {
+            return '"' + parser.getText() + '"';
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Record a difference at the current path; false once the limit is reached
+     */
+    private boolean record(String expected, String actual) {
+        differences.add(new Difference(currentPath(), expected, actual));
+        return differences.size() < limit;
+    }
+
+    private boolean isIgnored() {
+        return matchesAny(options.ignoredPaths);
+    }
+
+    private boolean isUnordered() {
+        return options.ignoreAllArrayOrder || matchesAny(options.unorderedPaths);
+    }
+
+    private boolean matchesAny(List<PathPattern> patterns) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(names, indexes, depth)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void push(String name) {
+        ensureCapacity();
+        names[depth] = name;
+        indexes[depth++] = -1;
+    }
+
+    private void push(int index) {
+        ensureCapacity();
+        names[depth] = null;
+        indexes[depth++] = index;
+    }
+
+    private void pop() {
+        depth--;
+    }
+
+    private void ensureCapacity() {
+        if (depth == names.length) {
+            names = Arrays.copyOf(names, depth * 2);
+            indexes = Arrays.copyOf(indexes, depth * 2);
+        }
+    }
+
+    /**
+     * Current path as a JSON pointer
+     */
+    private String currentPath() {
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            path.append('/');
+            if (names[i] == null) {
+                path.append(indexes[i]);
+            } else {
+                path.append(names[i].replace("~", "~0").replace("/", "~1"));
+            }
+        }
+        return path.toString();
+    }
+
+    /**
+     * Diff settings; a fresh instance compares exactly, in order, reporting up to 10 differences
+     */
+    public static class Options {
+        private final List<PathPattern> ignoredPaths = new ArrayList<>();
+        private final List<PathPattern> unorderedPaths = new ArrayList<>();
+        private boolean ignoreAllArrayOrder;
+        private double numericTolerance;
+        private int maxDifferences = 10;
+
+        public static Options defaults() {
+            return new Options();
+        }
+
+        /**
+         * Skip values at JSON pointers; a "*" segment matches any field or index
+         */
+        public Options ignorePaths(String... pointers) {
+            for (String pointer : pointers) {
+                ignoredPaths.add(new PathPattern(pointer));
+            }
+            return this;
+        }
+
+        /**
+         * Treat numbers as equal when they differ by at most the tolerance
+         */
+        public Options withNumericTolerance(double tolerance) {
+            this.numericTolerance = tolerance;
+            return this;
+        }
+
+        /**
+         * Compare every array as a multiset
+         */
+        public Options ignoreArrayOrder() {
+            this.ignoreAllArrayOrder = true;
+            return this;
+        }
+
+        /**
+         * Compare the arrays at these JSON pointers as multisets
+         */
+        public Options ignoreArrayOrder(String... pointers) {
+            for (String pointer : pointers) {
+                unorderedPaths.add(new PathPattern(pointer));
+            }
+            return this;
+        }
+
+        public Options withMaxDifferences(int maxDifferences) {
+            this.maxDifferences = maxDifferences;
+            return this;
+        }
+    }
+
+    /**
+     * One difference; values are rendered as JSON text, "&lt;missing&gt;" when absent on one side
+     */
+    public static class Difference {
+        public final String path;
+        public final String expected;
+        public final String actual;
+
+        public Difference(String path, String expected, String actual) {
+            this.path = path;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        @Override
+        public String toString() {
+            return (path.isEmpty() ? "/" : path) + ": expected " + expected + " but was " + actual;
+        }
+    }
+
+    /**
+     * A JSON pointer with "*" wildcard segments, split once up front
+     */
+    private static class PathPattern {
+        private final String[] segments;
+        private final int[] indexes;
+
+        PathPattern(String pointer) {
+            List<String> parts = new ArrayList<>();
+            for (JsonPointer current = JsonPointer.compile(pointer); !current.matches(); current = current.tail()) {
+                parts.add(current.getMatchingProperty());
+            }
+            segments = parts.toArray(new String[0]);
+            indexes = new int[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                indexes[i] = segments[i].matches("\\d+") ? Integer.parseInt(segments[i]) : -1;
+            }
+        }
+
+        boolean matches(String[] names, int[] pathIndexes, int depth) {
+            if (depth != segments.length) {
+                return false;
+            }
+            for (int i = 0; i < depth; i++) {
+                if (segments[i].equals("*")) {
+                    continue;
+                }
+                boolean same = names[i] == null ? pathIndexes[i] == indexes[i] : names[i].equals(segments[i]);
+                if (!same) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.api.automation.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily reads the elements of one array in a JSON file
+ * The file is walked token by token: everything before the array is skipped without
+ * being parsed into objects, and each element is bound straight to the target type
+ * when requested, so no tree of the document is ever built.
+ */
+public class JsonStreamReader<T> implements Iterator<T>, Closeable {
+
+    private static final Logger logger = LogManager.getLogger(JsonStreamReader.class);
+    private static final ObjectMapper objectMapper = ObjectMapperProvider.mapper();
+
+    private final String filePath;
+    private final JsonParser parser;
+    private final ObjectReader elementReader;
+    private T nextElement;
+    private boolean ready;
+    private boolean closed;
+    private int elementsRead;
+
+    private JsonStreamReader(String filePath, String arrayPath, Class<T> type) throws IOException {
+        this.filePath = filePath;
+        this.elementReader = ObjectMapperProvider.readerFor(type);
+        this.parser = objectMapper.getFactory().createParser(new File(filePath));
+        try {
+            JsonToken token = arrayPath.isEmpty() || arrayPath.startsWith("/")
+                    ? seekPointer(parser.nextToken(), JsonPointer.compile(arrayPath))
+                    : seekField(arrayPath);
+            if (token != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("No JSON array at '" + arrayPath + "' in " + filePath);
+            }
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open the array at a JSON pointer ("/testScenarios/userCreation", "" for the root) or the
+     * first array field with the given name ("users"); the caller must close the reader
+     */
+    public static <T> JsonStreamReader<T> open(String filePath, String arrayPath, Class<T> type) {
+        try {
+            return new JsonStreamReader<>(filePath, arrayPath, type);
+        } catch (IOException e) {
+            logger.error("Failed to open JSON test data: {}", filePath, e);
+            throw new RuntimeException("Failed to load JSON test data", e);
+        }
+    }
+
+    /**
+     * Advance to the value addressed by the pointer, skipping sibling subtrees
+     */
+    private JsonToken seekPointer(JsonToken token, JsonPointer pointer) throws IOException {
+        while (token != null && !pointer.matches()) {
+            if (token == JsonToken.START_OBJECT) {
+                token = seekProperty(pointer.getMatchingProperty());
+            } else if (token == JsonToken.START_ARRAY && pointer.getMatchingIndex() >= 0) {
+                token = seekIndex(pointer.getMatchingIndex());
+            } else {
+                return null;
+            }
+            pointer = pointer.tail();
+        }
+        return token;
+    }
+
+    private JsonToken seekProperty(String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (fieldName.equals(name)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private JsonToken seekIndex(int index) throws IOException {
+        JsonToken value = parser.nextToken();
+        for (int i = 0; i < index && value != null && value != JsonToken.END_ARRAY; i++) {
+            parser.skipChildren();
+            value = parser.nextToken();
+        }
+        return value == JsonToken.END_ARRAY ? null : value;
+    }
+
+    /**
+     * Advance to the first array-valued field with the given name, at any depth
+     */
+    private JsonToken seekField(String name) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME && name.equals(parser.getCurrentName())
+                    && parser.nextToken() == JsonToken.START_ARRAY) {
+                return JsonToken.START_ARRAY;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready && !closed) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    close();
+                } else {
+                    nextElement = elementReader.readValue(parser);
+                    ready = true;
+                }
+            } catch (IOException e) {
+                close();
+                throw new RuntimeException("Failed to read JSON test data from: " + filePath, e);
+            }
+        }
+        return ready;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T element = nextElement;
+        nextElement = null;
+        ready = false;
+        elementsRead++;
+        return element;
+    }
+
+    /**
+     * Elements as a sequential stream; closing the stream closes the reader
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    public int getElementsRead() {
+        return elementsRead;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            parser.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close JSON test data: {}", filePath, e);
+        }
+        logger.debug("Streamed {} elements of JSON test data from: {}", elementsRead, filePath);
+    }
+}
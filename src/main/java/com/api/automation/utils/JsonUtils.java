@@ -21,7 +21,7 @@ import java.util.Map;
 public class JsonUtils {
     
     private static final Logger logger = LogManager.getLogger(JsonUtils.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectMapper objectMapper = ObjectMapperProvider.mapper();
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     
     /**
@@ -48,6 +48,18 @@ public class JsonUtils {
         }
     }
     
+    /**
+     * Bind a response body to a type straight from its bytes, using the cached reader for the type
+     */
+    public static <T> T fromResponse(Response response, Class<T> clazz) {
+        try {
+            return ObjectMapperProvider.readerFor(clazz).readValue(response.asByteArray());
+        } catch (Exception e) {
+            logger.error("Failed to bind response body to {}", clazz.getSimpleName(), e);
+            throw new RuntimeException("JSON parsing failed", e);
+        }
+    }
+    
     /**
      * Read JSON from file
      */
@@ -114,16 +126,50 @@ public class JsonUtils {
     }
     
     /**
-     * Compare two JSON objects
+     * Compare two JSON documents structurally: field order is irrelevant, numbers compare by value
      */
     public static boolean compareJsonObjects(String json1, String json2) {
+        return jsonEquals(json1, json2, JsonDiff.Options.defaults());
+    }
+    
+    /**
+     * Check two JSON documents for equality under the given options, stopping at the first difference
+     */
+    public static boolean jsonEquals(String expected, String actual, JsonDiff.Options options) {
         try {
-            Map<String, Object> map1 = objectMapper.readValue(json1, Map.class);
-            Map<String, Object> map2 = objectMapper.readValue(json2, Map.class);
-            return map1.equals(map2);
+            return JsonDiff.matches(expected, actual, options);
         } catch (Exception e) {
             logger.error("Failed to compare JSON objects", e);
             return false;
         }
     }
+    
+    /**
+     * Structural differences between two JSON documents, with their JSON pointer paths
+     */
+    public static List<JsonDiff.Difference> diffJson(String expected, String actual) {
+        return JsonDiff.compare(expected, actual, JsonDiff.Options.defaults());
+    }
+    
+    public static List<JsonDiff.Difference> diffJson(String expected, String actual, JsonDiff.Options options) {
+        return JsonDiff.compare(expected, actual, options);
+    }
+    
+    /**
+     * Canonical 128-bit fingerprint (32 hex chars): stable across key order, whitespace and number notation
+     */
+    public static String canonicalHash(String json) {
+        return CanonicalJsonHasher.hash(json);
+    }
+    
+    public static String canonicalHash(byte[] json) {
+        return CanonicalJsonHasher.hash(json);
+    }
+    
+    /**
+     * Canonical fingerprint of a response body, hashed from its bytes
+     */
+    public static String canonicalHash(Response response) {
+        return CanonicalJsonHasher.hash(response.asByteArray());
+    }
 }
@@ -0,0 +1,128 @@
+package com.api.automation.utils;
+
+import com.api.automation.models.User;
+import com.api.automation.models.UserResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.path.json.mapper.factory.Jackson2ObjectMapperFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The one Jackson configuration shared by the whole framework
+ * ObjectMapper, ObjectReader and ObjectWriter are thread-safe once configured, and the
+ * expensive part of binding (resolving serializers and deserializers per type) is cached
+ * inside them, so every component and REST Assured itself use these instances instead of
+ * creating their own. Readers and writers are cached per type, which also skips the
+ * root-type lookup that readValue(..., Class) repeats on every call.
+ */
+public final class ObjectMapperProvider {
+
+    private static final Logger logger = LogManager.getLogger(ObjectMapperProvider.class);
+
+    /** Bytecode-generated accessor modules, used when present on the classpath (fastest first) */
+    private static final String[] ACCESSOR_MODULES = {
+            "com.fasterxml.jackson.module.blackbird.BlackbirdModule",
+            "com.fasterxml.jackson.module.afterburner.AfterburnerModule"
+    };
+
+    private static final ObjectMapper MAPPER = createMapper();
+
+    private static final ClassValue<ObjectReader> READERS = new ClassValue<ObjectReader>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return MAPPER.readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<ObjectWriter>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return MAPPER.writerFor(type);
+        }
+    };
+
+    private static final ObjectReader USER_READER = READERS.get(User.class);
+    private static final ObjectReader USER_RESPONSE_READER = READERS.get(UserResponse.class);
+    private static final ObjectWriter PRETTY_WRITER = MAPPER.writerWithDefaultPrettyPrinter();
+
+    private ObjectMapperProvider() {}
+
+    private static ObjectMapper createMapper() {
+        JsonMapper mapper = JsonMapper.builder()
+                // API payloads gain fields over time; models opt in to what they need
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .build();
+
+        for (String moduleClass : ACCESSOR_MODULES) {
+            try {
+                mapper.registerModule((Module) Class.forName(moduleClass).getDeclaredConstructor().newInstance());
+                logger.info("Jackson bytecode accessors enabled: {}", moduleClass);
+                break;
+            } catch (ClassNotFoundException e) {
+                // not on the classpath, fall back to reflection
+            } catch (ReflectiveOperationException | LinkageError e) {
+                logger.warn("Failed to register Jackson module {}", moduleClass, e);
+            }
+        }
+        return mapper;
+    }
+
+    /**
+     * Shared mapper; do not reconfigure it, derive a reader or writer instead
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Cached reader bound to a type
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return READERS.get(type);
+    }
+
+    /**
+     * Cached writer bound to a type
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        return WRITERS.get(type);
+    }
+
+    public static ObjectReader userReader() {
+        return USER_READER;
+    }
+
+    public static ObjectReader userResponseReader() {
+        return USER_RESPONSE_READER;
+    }
+
+    public static ObjectWriter prettyWriter() {
+        return PRETTY_WRITER;
+    }
+
+    /**
+     * REST Assured configuration that serializes request bodies and deserializes
+     * response.as(...) with the shared mapper
+     */
+    public static RestAssuredConfig restAssuredConfig() {
+        return RestAssuredConfigHolder.CONFIG;
+    }
+
+    /**
+     * Built on first use, so data and reporting code never pull in REST Assured
+     */
+    private static final class RestAssuredConfigHolder {
+        static final RestAssuredConfig CONFIG = RestAssuredConfig.config()
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                        .jackson2ObjectMapperFactory((Jackson2ObjectMapperFactory) (type, charset) -> MAPPER));
+    }
+}
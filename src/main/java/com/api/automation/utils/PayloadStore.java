@@ -0,0 +1,173 @@
+package com.api.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload policy for report bodies
+ * Bodies above the inline limit (UTF-8 bytes) are truncated in the report at a character
+ * boundary and stored in full as gzip-compressed, content-addressed attachment files;
+ * identical bodies share one file
+ */
+public class PayloadStore {
+
+    private static final Logger logger = LogManager.getLogger(PayloadStore.class);
+    private static final String ATTACHMENT_DIR = "attachments";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path reportDir;
+    private final int inlineLimitBytes;
+    private final Set<String> storedHashes = ConcurrentHashMap.newKeySet();
+
+    public PayloadStore(Path reportDir, int inlineLimitKb) {
+        this.reportDir = reportDir;
+        this.inlineLimitBytes = Math.max(0, inlineLimitKb) * 1024;
+    }
+
+    /**
+     * Store configured from system property report.body.inline.kb (default 8 KB)
+     */
+    public static PayloadStore fromSystemProperties(String reportDir) {
+        return new PayloadStore(Paths.get(reportDir), Integer.getInteger("report.body.inline.kb", 8));
+    }
+
+    /**
+     * Render a body for the HTML report, truncating and linking the attachment when oversized
+     */
+    public String toReportHtml(String body) {
+        // A char encodes to at most 3 UTF-8 bytes, so short bodies skip the encoding
+        if ((long) body.length() * 3 <= inlineLimitBytes) {
+            return inline(body);
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= inlineLimitBytes) {
+            return inline(body);
+        }
+
+        String link;
+        try {
+            link = ATTACHMENT_DIR + "/" + store(bytes).getFileName();
+        } catch (IOException e) {
+            logger.error("Failed to store report attachment", e);
+            link = null;
+        }
+
+        int cut = utf8Prefix(body, inlineLimitBytes);
+        StringBuilder html = new StringBuilder(cut + 160);
+        html.append("<pre>");
+        appendEscaped(html, body, cut);
+        html.append("\n...</pre>");
+        html.append(String.format("Truncated to %d KB of %.1f KB", inlineLimitBytes / 1024, bytes.length / 1024.0));
+        if (link != null) {
+            html.append(" - <a href=\"").append(link).append("\">full body (gzip)</a>");
+        }
+        return html.toString();
+    }
+
+    private static String inline(String body) {
+        StringBuilder html = new StringBuilder(body.length() + 16);
+        html.append("<pre>");
+        appendEscaped(html, body, body.length());
+        return html.append("</pre>").toString();
+    }
+
+    /**
+     * Append the first end chars of text, escaping markup so a body like an HTML error page
+     * shows as text instead of breaking the report
+     */
+    private static void appendEscaped(StringBuilder html, String text, int end) {
+        for (int i = 0; i < end; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    html.append("&amp;");
+                    break;
+                case '<':
+                    html.append("&lt;");
+                    break;
+                case '>':
+                    html.append("&gt;");
+                    break;
+                default:
+                    html.append(c);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Store bytes under their SHA-256 hash; returns the attachment path
+     */
+    public Path store(byte[] bytes) throws IOException {
+        String hash = sha256(bytes);
+        Path target = reportDir.resolve(ATTACHMENT_DIR).resolve(hash + ".txt.gz");
+
+        if (storedHashes.contains(hash) || Files.exists(target)) {
+            storedHashes.add(hash);
+            return target;
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            out.write(bytes);
+        }
+        // Atomic move keeps concurrent writers of the same body from seeing a partial file
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        storedHashes.add(hash);
+        return target;
+    }
+
+    public int getInlineLimitBytes() {
+        return inlineLimitBytes;
+    }
+
+    /**
+     * Length in chars of the longest prefix that encodes to at most maxBytes of UTF-8,
+     * never splitting a surrogate pair
+     */
+    static int utf8Prefix(String text, int maxBytes) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean pair = Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1));
+            int width = c < 0x80 ? 1 : c < 0x800 ? 2 : pair ? 4 : 3;
+            if (bytes + width > maxBytes) {
+                return i;
+            }
+            bytes += width;
+            if (pair) {
+                i++;
+            }
+        }
+        return text.length();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
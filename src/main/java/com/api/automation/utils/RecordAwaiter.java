@@ -0,0 +1,284 @@
+package com.api.automation.utils;
+
+import com.api.automation.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Polls the database for records that are expected to appear after an API call
+ * All pending verifications share one scheduler; on every tick the due checks are
+ * grouped by table and key column and verified with a single IN (...) query per group,
+ * backing off exponentially for checks that are still missing
+ */
+public class RecordAwaiter {
+
+    private static final Logger logger = LogManager.getLogger(RecordAwaiter.class);
+    private static final Pattern SIMPLE_KEY_CLAUSE = Pattern.compile("^\\s*(\\w+)\\s*=\\s*\\?\\s*$");
+    private static volatile RecordAwaiter instance;
+
+    private final DatabaseManager databaseManager;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentLinkedQueue<PendingCheck> incoming = new ConcurrentLinkedQueue<>();
+    // Mutated by the scheduler thread only
+    private final List<PendingCheck> active = new ArrayList<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxInSize;
+    private final int maxFailures;
+
+    private RecordAwaiter(DatabaseManager databaseManager, ConfigManager config) {
+        this.databaseManager = databaseManager;
+        this.initialDelayMillis = config.getIntProperty("db.await.initialDelayMs", 50);
+        this.maxDelayMillis = config.getIntProperty("db.await.maxDelayMs", 1000);
+        this.maxInSize = config.getIntProperty("db.await.maxInSize", 500);
+        this.maxFailures = config.getIntProperty("db.await.maxFailures", 3);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-record-awaiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, initialDelayMillis, initialDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static RecordAwaiter getInstance() {
+        if (instance == null) {
+            synchronized (RecordAwaiter.class) {
+                if (instance == null) {
+                    DatabaseManager databaseManager = new DatabaseManager();
+                    databaseManager.connect();
+                    instance = new RecordAwaiter(databaseManager, ConfigManager.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Wait for a record matching the where clause; completes with true when found,
+     * false when the timeout elapses first, and exceptionally when the query keeps failing
+     */
+    public CompletableFuture<Boolean> await(String tableName, String whereClause, Object[] parameters, Duration timeout) {
+        PendingCheck check = new PendingCheck(tableName, whereClause, parameters,
+                System.currentTimeMillis() + timeout.toMillis(), initialDelayMillis);
+
+        // Single "column = ?" lookups can share an IN (...) query with other checks
+        Matcher matcher = SIMPLE_KEY_CLAUSE.matcher(whereClause);
+        if (matcher.matches() && parameters.length == 1 && parameters[0] != null) {
+            check.keyColumn = matcher.group(1);
+        }
+
+        pendingCount.incrementAndGet();
+        incoming.add(check);
+        return check.future;
+    }
+
+    /**
+     * One polling round, run on the scheduler thread only
+     */
+    private void tick() {
+        try {
+            PendingCheck arrived;
+            while ((arrived = incoming.poll()) != null) {
+                active.add(arrived);
+            }
+            if (active.isEmpty()) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            Map<String, List<PendingCheck>> keyedGroups = new LinkedHashMap<>();
+            List<PendingCheck> individual = new ArrayList<>();
+            for (PendingCheck check : active) {
+                if (check.nextPollAt > now) {
+                    continue;
+                }
+                if (check.keyColumn != null) {
+                    keyedGroups.computeIfAbsent(check.tableName + "|" + check.keyColumn, k -> new ArrayList<>()).add(check);
+                } else {
+                    individual.add(check);
+                }
+            }
+
+            // A failing group or check backs off on its own and never stops the others
+            for (List<PendingCheck> group : keyedGroups.values()) {
+                pollKeyedGroup(group);
+            }
+            for (PendingCheck check : individual) {
+                pollIndividuallySafely(check);
+            }
+        } catch (RuntimeException e) {
+            // Keep the scheduler alive; checks will be retried on the next tick
+            logger.warn("Record verification round failed", e);
+        } finally {
+            completeFinishedChecks(System.currentTimeMillis());
+        }
+    }
+
+    private void pollKeyedGroup(List<PendingCheck> group) {
+        String tableName = group.get(0).tableName;
+        String keyColumn = group.get(0).keyColumn;
+
+        Map<String, List<PendingCheck>> byKey = new LinkedHashMap<>();
+        for (PendingCheck check : group) {
+            byKey.computeIfAbsent(normalizeKey(check.parameters[0]), k -> new ArrayList<>()).add(check);
+        }
+
+        List<String> keys = new ArrayList<>(byKey.keySet());
+        for (int from = 0; from < keys.size(); from += maxInSize) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + maxInSize));
+            Object[] values = new Object[chunk.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = byKey.get(chunk.get(i)).get(0).parameters[0];
+            }
+
+            String query = String.format("SELECT %s FROM %s WHERE %s IN (%s)", keyColumn, tableName, keyColumn,
+                    String.join(", ", Collections.nCopies(values.length, "?")));
+            Set<String> found = new HashSet<>();
+            boolean[] folded = {false};
+            try {
+                databaseManager.forEachRow(query, row -> {
+                    String key = normalizeKey(row.getObject(1));
+                    found.add(key);
+                    // The column's collation matched a key we did not send verbatim (e.g. case-insensitive)
+                    folded[0] |= !byKey.containsKey(key);
+                    return true;
+                }, values);
+            } catch (RuntimeException e) {
+                for (String key : chunk) {
+                    for (PendingCheck check : byKey.get(key)) {
+                        check.recordFailure(e, maxDelayMillis);
+                    }
+                }
+                logger.warn("Record check on {}.{} failed for {} keys: {}", tableName, keyColumn, chunk.size(),
+                        e.getMessage());
+                continue;
+            }
+
+            for (String key : chunk) {
+                boolean exists = found.contains(key);
+                for (PendingCheck check : byKey.get(key)) {
+                    if (!exists && folded[0]) {
+                        // Let the database decide with its own collation, as a lone lookup would
+                        pollIndividuallySafely(check);
+                    } else {
+                        check.recordPoll(exists, maxDelayMillis);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Key as compared between caller and driver: numbers by value whatever their Java type,
+     * everything else exactly as text. Text is never folded, so a batched check cannot report
+     * a row the column's collation would not match; every distinct value is sent to the query.
+     */
+    private static String normalizeKey(Object key) {
+        if (key instanceof Number) {
+            try {
+                BigDecimal value = new BigDecimal(key.toString());
+                return value.signum() == 0 ? "0" : value.stripTrailingZeros().toPlainString();
+            } catch (NumberFormatException e) {
+                return key.toString();
+            }
+        }
+        return String.valueOf(key);
+    }
+
+    private void pollIndividuallySafely(PendingCheck check) {
+        try {
+            check.recordPoll(databaseManager.recordExists(check.tableName, check.whereClause, check.parameters),
+                    maxDelayMillis);
+        } catch (RuntimeException e) {
+            check.recordFailure(e, maxDelayMillis);
+            logger.warn("Record check on {} failed (attempt {}): {}", check.tableName, check.failures,
+                    e.getMessage());
+        }
+    }
+
+    private void completeFinishedChecks(long now) {
+        Iterator<PendingCheck> iterator = active.iterator();
+        while (iterator.hasNext()) {
+            PendingCheck check = iterator.next();
+            if (check.found) {
+                check.future.complete(true);
+                iterator.remove();
+                pendingCount.decrementAndGet();
+            } else if (check.failures >= maxFailures || (now >= check.deadline && check.lastFailure != null)) {
+                logger.error("Giving up on record check in {} after {} failed attempts: {} {}", check.tableName,
+                        check.failures, check.whereClause, Arrays.toString(check.parameters));
+                check.future.completeExceptionally(new IllegalStateException(
+                        "Record check failed for " + check.tableName + " " + check.whereClause, check.lastFailure));
+                iterator.remove();
+                pendingCount.decrementAndGet();
+            } else if (now >= check.deadline) {
+                logger.warn("Record not found in {} within timeout: {} {}", check.tableName, check.whereClause,
+                        Arrays.toString(check.parameters));
+                check.future.complete(false);
+                iterator.remove();
+                pendingCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Checks submitted and not yet completed; safe to call from any thread
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * A single pending verification and its backoff state
+     */
+    private static class PendingCheck {
+        private final String tableName;
+        private final String whereClause;
+        private final Object[] parameters;
+        private final long deadline;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private String keyColumn;
+        private long delay;
+        private long nextPollAt;
+        private boolean found;
+        private int failures;
+        private RuntimeException lastFailure;
+
+        PendingCheck(String tableName, String whereClause, Object[] parameters, long deadline, long initialDelay) {
+            this.tableName = tableName;
+            this.whereClause = whereClause;
+            this.parameters = parameters;
+            this.deadline = deadline;
+            this.delay = initialDelay;
+        }
+
+        void recordPoll(boolean exists, long maxDelay) {
+            found = exists;
+            failures = 0;
+            lastFailure = null;
+            if (!exists) {
+                backOff(maxDelay);
+            }
+        }
+
+        void recordFailure(RuntimeException failure, long maxDelay) {
+            failures++;
+            lastFailure = failure;
+            backOff(maxDelay);
+        }
+
+        private void backOff(long maxDelay) {
+            nextPollAt = System.currentTimeMillis() + delay;
+            delay = Math.min(delay * 2, maxDelay);
+        }
+    }
+}
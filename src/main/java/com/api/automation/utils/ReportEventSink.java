@@ -0,0 +1,308 @@
+package com.api.automation.utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.StepResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous sink for report events
+ * Test threads enqueue lightweight events into a lock-free queue; a single background
+ * writer formats them and forwards them in batches to Extent and log4j. Allure steps are
+ * added on the publishing thread, while its test case is certainly still open. The writer
+ * is the only thread logging to an ExtentTest until {@link #flushCurrentThread(long)}
+ * returns, after which the test thread may finish the node itself.
+ */
+public class ReportEventSink {
+
+    private static final Logger logger = LogManager.getLogger(ExtentReportManager.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final ConcurrentLinkedQueue<ReportEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final boolean async;
+    private final int batchSize;
+    private final PayloadStore payloadStore;
+    private final Thread writer;
+    private final ThreadLocal<ReportEvent> lastPublished = new ThreadLocal<>();
+    private volatile boolean running = true;
+
+    public ReportEventSink(boolean async, int batchSize, PayloadStore payloadStore) {
+        this.async = async;
+        this.batchSize = Math.max(1, batchSize);
+        this.payloadStore = payloadStore;
+        if (async) {
+            writer = new Thread(this::drainLoop, "extent-report-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            writer = null;
+        }
+    }
+
+    /**
+     * Sink configured from system properties report.async and report.batch.size
+     */
+    public static ReportEventSink fromSystemProperties(PayloadStore payloadStore) {
+        boolean async = Boolean.parseBoolean(System.getProperty("report.async", "true"));
+        int batchSize = Integer.getInteger("report.batch.size", 256);
+        return new ReportEventSink(async, batchSize, payloadStore);
+    }
+
+    /**
+     * Publish an event; never blocks when running asynchronously
+     */
+    public void publish(ReportEvent event) {
+        try {
+            event.addAllureStep();
+        } catch (RuntimeException e) {
+            // Reporting must never fail the test
+            logger.error("Failed to add Allure step", e);
+        }
+        if (!async || !running) {
+            write(event);
+            return;
+        }
+        published.incrementAndGet();
+        lastPublished.set(event);
+        queue.offer(event);
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Wait until every event published so far has been written
+     */
+    public boolean flush(long timeoutMillis) {
+        if (!async) {
+            return true;
+        }
+        long target = published.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        LockSupport.unpark(writer);
+        while (written.get() < target) {
+            if (System.nanoTime() > deadline) {
+                logger.warn("Timed out flushing report events: {} of {} written", written.get(), target);
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Wait until every event published by the calling thread has been written; the queue is
+     * FIFO with a single writer, so it is enough to wait for the thread's last event
+     */
+    public boolean flushCurrentThread(long timeoutMillis) {
+        ReportEvent last = lastPublished.get();
+        if (!async || last == null) {
+            return true;
+        }
+        lastPublished.remove();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        LockSupport.unpark(writer);
+        while (!last.written) {
+            if (System.nanoTime() > deadline) {
+                logger.warn("Timed out flushing report events of thread {}", Thread.currentThread().getName());
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Drain remaining events and stop the writer thread
+     */
+    public void shutdown(long timeoutMillis) {
+        if (!async) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getPendingCount() {
+        return published.get() - written.get();
+    }
+
+    private void drainLoop() {
+        List<ReportEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            ReportEvent event;
+            while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            for (ReportEvent pending : batch) {
+                write(pending);
+                pending.written = true;
+            }
+            written.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    private void write(ReportEvent event) {
+        try {
+            if (event.test != null) {
+                event.test.log(event.status, event.formatHtml(payloadStore));
+            }
+            event.logToLog4j();
+        } catch (RuntimeException e) {
+            // A broken report entry must never take down the writer thread
+            logger.error("Failed to write report event", e);
+        }
+    }
+
+    /**
+     * Lightweight report event; formatting is deferred to the writer thread
+     */
+    public static class ReportEvent {
+        private enum Kind { MESSAGE, API_REQUEST, API_RESPONSE }
+
+        private final Kind kind;
+        private final ExtentTest test;
+        private final Status status;
+        private final String message;
+        private final String method;
+        private final String endpoint;
+        private final String body;
+        private final int statusCode;
+        private final long responseTime;
+        private final String allureTestCase;
+        private final long timestamp;
+        private volatile boolean written;
+
+        private ReportEvent(Kind kind, ExtentTest test, Status status, String message, String method,
+                            String endpoint, String body, int statusCode, long responseTime) {
+            this.kind = kind;
+            this.test = test;
+            this.status = status;
+            this.message = message;
+            this.method = method;
+            this.endpoint = endpoint;
+            this.body = body;
+            this.statusCode = statusCode;
+            this.responseTime = responseTime;
+            this.allureTestCase = kind == Kind.MESSAGE ? currentAllureTestCase() : null;
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        public static ReportEvent message(ExtentTest test, Status status, String message) {
+            return new ReportEvent(Kind.MESSAGE, test, status, message, null, null, null, 0, 0);
+        }
+
+        public static ReportEvent apiRequest(ExtentTest test, String method, String endpoint, String requestBody) {
+            return new ReportEvent(Kind.API_REQUEST, test, Status.INFO, null, method, endpoint, requestBody, 0, 0);
+        }
+
+        public static ReportEvent apiResponse(ExtentTest test, int statusCode, String responseBody, long responseTime) {
+            return new ReportEvent(Kind.API_RESPONSE, test, Status.INFO, null, null, null, responseBody,
+                    statusCode, responseTime);
+        }
+
+        private static String currentAllureTestCase() {
+            Optional<String> uuid = Allure.getLifecycle().getCurrentTestCase();
+            return uuid.orElse(null);
+        }
+
+        String formatHtml(PayloadStore payloadStore) {
+            switch (kind) {
+                case API_REQUEST:
+                    return String.format(
+                        "<b>API Request:</b><br>" +
+                        "Method: %s<br>" +
+                        "Endpoint: %s<br>" +
+                        "Request Body: %s",
+                        method, endpoint, payloadStore.toReportHtml(body != null ? body : "No body")
+                    );
+                case API_RESPONSE:
+                    return String.format(
+                        "<b>API Response:</b><br>" +
+                        "Status Code: %d<br>" +
+                        "Response Time: %d ms<br>" +
+                        "Response Body: %s",
+                        statusCode, responseTime,
+                        payloadStore.toReportHtml(body != null ? body : "No response body")
+                    );
+                default:
+                    return message;
+            }
+        }
+
+        void logToLog4j() {
+            if (kind != Kind.MESSAGE) {
+                return;
+            }
+            switch (status) {
+                case PASS:
+                    logger.info("PASS: {}", message);
+                    break;
+                case FAIL:
+                    logger.error("FAIL: {}", message);
+                    break;
+                case WARNING:
+                    logger.warn("WARNING: {}", message);
+                    break;
+                case SKIP:
+                    logger.warn("SKIP: {}", message);
+                    break;
+                default:
+                    logger.info(message);
+            }
+        }
+
+        /**
+         * Attach message as a finished Allure step; called on the test thread, before the
+         * Allure listener can stop the test case
+         */
+        void addAllureStep() {
+            if (allureTestCase == null) {
+                return;
+            }
+            StepResult step = new StepResult()
+                    .setName(message)
+                    .setStatus(toAllureStatus(status))
+                    .setStage(Stage.FINISHED)
+                    .setStart(timestamp)
+                    .setStop(timestamp);
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            lifecycle.updateTestCase(allureTestCase, result -> result.getSteps().add(step));
+        }
+
+        private static io.qameta.allure.model.Status toAllureStatus(Status status) {
+            switch (status) {
+                case FAIL:
+                    return io.qameta.allure.model.Status.FAILED;
+                case SKIP:
+                    return io.qameta.allure.model.Status.SKIPPED;
+                case WARNING:
+                    return io.qameta.allure.model.Status.BROKEN;
+                default:
+                    return io.qameta.allure.model.Status.PASSED;
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.api.automation.utils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Flyweight view of the current row of a forward-only ResultSet
+ * One instance is reused for every row of a query and shares the column metadata,
+ * so a large result can be verified in constant memory. Values are only valid
+ * until the cursor moves; use {@link #toMap()} to keep a copy.
+ */
+public class ResultRow {
+
+    private final ResultSet resultSet;
+    private final String[] columnNames;
+    private final Map<String, Integer> columnIndex;
+
+    ResultRow(ResultSet resultSet) throws SQLException {
+        this.resultSet = resultSet;
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        this.columnNames = new String[metaData.getColumnCount()];
+        this.columnIndex = new HashMap<>(columnNames.length * 2);
+        for (int i = 0; i < columnNames.length; i++) {
+            columnNames[i] = metaData.getColumnLabel(i + 1);
+            columnIndex.putIfAbsent(columnNames[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * Column label for a 1-based index
+     */
+    public String getColumnName(int index) {
+        return columnNames[index - 1];
+    }
+
+    /**
+     * 1-based index of a column, case-insensitive
+     */
+    public int indexOf(String column) {
+        Integer index = columnIndex.get(column.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown column: " + column);
+        }
+        return index;
+    }
+
+    public Object getObject(int index) {
+        try {
+            return resultSet.getObject(index);
+        } catch (SQLException e) {
+            throw columnReadFailed(index, e);
+        }
+    }
+
+    public Object getObject(String column) {
+        return getObject(indexOf(column));
+    }
+
+    public String getString(int index) {
+        try {
+            return resultSet.getString(index);
+        } catch (SQLException e) {
+            throw columnReadFailed(index, e);
+        }
+    }
+
+    public String getString(String column) {
+        return getString(indexOf(column));
+    }
+
+    public int getInt(int index) {
+        try {
+            return resultSet.getInt(index);
+        } catch (SQLException e) {
+            throw columnReadFailed(index, e);
+        }
+    }
+
+    public int getInt(String column) {
+        return getInt(indexOf(column));
+    }
+
+    public long getLong(int index) {
+        try {
+            return resultSet.getLong(index);
+        } catch (SQLException e) {
+            throw columnReadFailed(index, e);
+        }
+    }
+
+    public long getLong(String column) {
+        return getLong(indexOf(column));
+    }
+
+    public double getDouble(int index) {
+        try {
+            return resultSet.getDouble(index);
+        } catch (SQLException e) {
+            throw columnReadFailed(index, e);
+        }
+    }
+
+    public double getDouble(String column) {
+        return getDouble(indexOf(column));
+    }
+
+    public boolean getBoolean(int index) {
+        try {
+            return resultSet.getBoolean(index);
+        } catch (SQLException e) {
+            throw columnReadFailed(index, e);
+        }
+    }
+
+    public boolean getBoolean(String column) {
+        return getBoolean(indexOf(column));
+    }
+
+    /**
+     * Whether the last primitive getter read an SQL NULL
+     */
+    public boolean wasNull() {
+        try {
+            return resultSet.wasNull();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to check for NULL value", e);
+        }
+    }
+
+    /**
+     * Copy the current row into a map keyed by column label
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < columnNames.length; i++) {
+            row.put(columnNames[i], getObject(i + 1));
+        }
+        return row;
+    }
+
+    private RuntimeException columnReadFailed(int index, SQLException e) {
+        String column = index >= 1 && index <= columnNames.length ? columnNames[index - 1] : String.valueOf(index);
+        return new RuntimeException("Failed to read column: " + column, e);
+    }
+}
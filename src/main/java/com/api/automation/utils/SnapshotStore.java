@@ -0,0 +1,242 @@
+package com.api.automation.utils;
+
+import com.api.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Golden-response snapshots
+ * The first verification of a snapshot records the normalized body: volatile fields
+ * (snapshot.mask.fields) are masked and object keys sorted. Later verifications compare the
+ * canonical hash of the body (CanonicalJsonHasher, with the same fields masked) with the
+ * hash of the golden file, and only run a structural diff when the hashes differ. The golden
+ * file is the source of truth: its hash is computed from the file on first use in a run, so
+ * hand-edited snapshots take effect. Run with -Dsnapshot.update=true to re-record changed
+ * snapshots; with snapshot.record=false (the default when the CI environment variable is
+ * set) a missing snapshot fails instead of being recorded.
+ */
+public class SnapshotStore {
+
+    private static final Logger logger = LogManager.getLogger(SnapshotStore.class);
+    private static final ObjectMapper objectMapper = ObjectMapperProvider.mapper();
+    private static final ObjectWriter canonicalWriter = objectMapper.writer()
+            .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    private static final ObjectWriter snapshotWriter = canonicalWriter.withDefaultPrettyPrinter();
+    private static final String MASK = "<masked>";
+    private static volatile SnapshotStore instance;
+
+    private final Path snapshotDir;
+    private final Set<String> maskedFields;
+    private final boolean updateSnapshots;
+    private final boolean recordMissing;
+    // Canonical hash of each golden file, read from the file once per run
+    private final Map<Path, String> hashes = new ConcurrentHashMap<>();
+
+    public SnapshotStore(Path snapshotDir, Set<String> maskedFields, boolean updateSnapshots) {
+        this(snapshotDir, maskedFields, updateSnapshots, true);
+    }
+
+    public SnapshotStore(Path snapshotDir, Set<String> maskedFields, boolean updateSnapshots, boolean recordMissing) {
+        this.snapshotDir = snapshotDir;
+        this.maskedFields = maskedFields;
+        this.updateSnapshots = updateSnapshots;
+        this.recordMissing = recordMissing;
+    }
+
+    public static SnapshotStore getInstance() {
+        if (instance == null) {
+            synchronized (SnapshotStore.class) {
+                if (instance == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    Set<String> masked = new HashSet<>();
+                    for (String field : config.getProperty("snapshot.mask.fields", "id,createdAt,updatedAt,token").split(",")) {
+                        if (!field.trim().isEmpty()) {
+                            masked.add(field.trim());
+                        }
+                    }
+                    boolean update = Boolean.parseBoolean(System.getProperty("snapshot.update",
+                            config.getProperty("snapshot.update", "false")));
+                    // CI runs must not pass by recording the snapshot they were meant to check
+                    boolean record = Boolean.parseBoolean(System.getProperty("snapshot.record",
+                            config.getProperty("snapshot.record", String.valueOf(System.getenv("CI") == null))));
+                    instance = new SnapshotStore(Paths.get(config.getProperty("snapshot.dir", "src/test/resources/snapshots")),
+                            masked, update, record);
+                }
+            }
+        }
+        return instance;
+    }
+
+    public SnapshotResult verify(String name, Response response) {
+        return verify(name, response.asByteArray());
+    }
+
+    /**
+     * Compare a body with the named snapshot, recording it if there is none yet
+     */
+    public SnapshotResult verify(String name, byte[] body) {
+        // The canonical hash is streamed from the raw body; nothing is parsed into a tree on a match
+        String hash = CanonicalJsonHasher.hash(body, maskedFields);
+        Path snapshotFile = snapshotFile(name);
+        String goldenHash = goldenHash(name, snapshotFile);
+        if (hash.equals(goldenHash)) {
+            return new SnapshotResult(name, Status.MATCHED, Collections.emptyList());
+        }
+
+        byte[] normalized = normalize(body);
+        if (goldenHash == null) {
+            if (!recordMissing) {
+                logger.warn("Snapshot {} is missing and recording is disabled", name);
+                return new SnapshotResult(name, Status.MISSING, Collections.emptyList());
+            }
+            write(name, snapshotFile, normalized, hash);
+            logger.info("Recorded snapshot {}", name);
+            return new SnapshotResult(name, Status.RECORDED, Collections.emptyList());
+        }
+
+        List<JsonDiff.Difference> differences;
+        try {
+            differences = JsonDiff.compare(Files.readAllBytes(snapshotFile), normalized, JsonDiff.Options.defaults());
+        } catch (IOException e) {
+            logger.error("Failed to read snapshot: {}", snapshotFile, e);
+            throw new RuntimeException("Failed to read snapshot " + name, e);
+        }
+        if (differences.isEmpty()) {
+            // Equal within the diff's rules though not canonically identical, e.g. masked nulls
+            return new SnapshotResult(name, Status.MATCHED, differences);
+        }
+        if (updateSnapshots) {
+            write(name, snapshotFile, normalized, hash);
+            logger.info("Updated snapshot {} ({} differences)", name, differences.size());
+            return new SnapshotResult(name, Status.UPDATED, differences);
+        }
+        logger.warn("Snapshot {} changed: {}", name, differences);
+        return new SnapshotResult(name, Status.CHANGED, differences);
+    }
+
+    /**
+     * Masked, key-sorted form of a body
+     */
+    byte[] normalize(byte[] body) {
+        try {
+            JsonNode tree = objectMapper.readTree(body);
+            mask(tree);
+            return canonicalWriter.writeValueAsBytes(objectMapper.treeToValue(tree, Object.class));
+        } catch (IOException e) {
+            throw new RuntimeException("Snapshot body is not valid JSON", e);
+        }
+    }
+
+    private void mask(JsonNode node) {
+        if (node instanceof ObjectNode) {
+            ObjectNode object = (ObjectNode) node;
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (maskedFields.contains(field.getKey()) && !field.getValue().isNull()) {
+                    field.setValue(TextNode.valueOf(MASK));
+                } else {
+                    mask(field.getValue());
+                }
+            }
+        } else if (node instanceof ArrayNode) {
+            for (JsonNode element : node) {
+                mask(element);
+            }
+        }
+    }
+
+    /**
+     * Canonical hash of the golden file, or null if there is none
+     */
+    private String goldenHash(String name, Path snapshotFile) {
+        String cached = hashes.get(snapshotFile);
+        if (cached != null || !Files.exists(snapshotFile)) {
+            return cached;
+        }
+        try {
+            // Golden files are stored masked, so this equals the hash of any body that matches
+            String hash = CanonicalJsonHasher.hash(Files.readAllBytes(snapshotFile), maskedFields);
+            hashes.put(snapshotFile, hash);
+            return hash;
+        } catch (IOException e) {
+            logger.error("Failed to read snapshot: {}", snapshotFile, e);
+            throw new RuntimeException("Failed to read snapshot " + name, e);
+        }
+    }
+
+    private synchronized void write(String name, Path snapshotFile, byte[] normalized, String hash) {
+        try {
+            Files.createDirectories(snapshotDir);
+            Object document = objectMapper.readValue(normalized, Object.class);
+            writeAtomically(snapshotFile, (snapshotWriter.writeValueAsString(document) + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Failed to write snapshot: {}", snapshotFile, e);
+            throw new RuntimeException("Failed to write snapshot " + name, e);
+        }
+        hashes.put(snapshotFile, hash);
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path snapshotFile(String name) {
+        return snapshotDir.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+
+    public Path getSnapshotDir() {
+        return snapshotDir;
+    }
+
+    /**
+     * Outcome of a snapshot verification
+     */
+    public enum Status {
+        RECORDED, MATCHED, UPDATED, CHANGED, MISSING
+    }
+
+    public static class SnapshotResult {
+        public final String name;
+        public final Status status;
+        public final List<JsonDiff.Difference> differences;
+
+        public SnapshotResult(String name, Status status, List<JsonDiff.Difference> differences) {
+            this.name = name;
+            this.status = status;
+            this.differences = differences;
+        }
+
+        public boolean isMatch() {
+            return status != Status.CHANGED && status != Status.MISSING;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot " + name + " " + status + (differences.isEmpty() ? "" : ": " + differences);
+        }
+    }
+}
@@ -19,6 +19,7 @@ public class SpecificationBuilder {
     
     public static RequestSpecification getRequestSpecification() {
         return new RequestSpecBuilder()
+                .setConfig(ObjectMapperProvider.restAssuredConfig())
                 .setBaseUri(config.getBaseUrl())
                 .setContentType(ContentType.JSON)
                 .addFilter(new AllureRestAssured())
@@ -28,6 +29,7 @@ public class SpecificationBuilder {
     
     public static RequestSpecification getRequestSpecificationWithAuth() {
         return new RequestSpecBuilder()
+                .setConfig(ObjectMapperProvider.restAssuredConfig())
                 .setBaseUri(config.getBaseUrl())
                 .setContentType(ContentType.JSON)
                 .addHeader("Authorization", "Bearer " + config.getApiKey())
@@ -38,6 +40,7 @@ public class SpecificationBuilder {
     
     public static RequestSpecification getRequestSpecificationWithBasicAuth() {
         return new RequestSpecBuilder()
+                .setConfig(ObjectMapperProvider.restAssuredConfig())
                 .setBaseUri(config.getBaseUrl())
                 .setContentType(ContentType.JSON)
                 .addFilter(new AllureRestAssured())
@@ -0,0 +1,81 @@
+package com.api.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of prepared statements for a single connection, keyed by SQL text
+ * Evicted statements are closed; the cache must be closed before the connection is released
+ */
+public class StatementCache {
+
+    private static final Logger logger = LogManager.getLogger(StatementCache.class);
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private int hits;
+    private int misses;
+
+    public StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a cached statement for the SQL, preparing it on first use
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, null);
+    }
+
+    /**
+     * Get a cached statement that returns the given generated key column (none if null)
+     */
+    public PreparedStatement prepare(String sql, String generatedKeyColumn) throws SQLException {
+        String key = generatedKeyColumn == null ? sql : sql + "\n" + generatedKeyColumn;
+        PreparedStatement statement = statements.get(key);
+        if (statement != null && !statement.isClosed()) {
+            hits++;
+            statement.clearParameters();
+            statement.clearBatch();
+            return statement;
+        }
+        misses++;
+        statement = generatedKeyColumn == null ? connection.prepareStatement(sql)
+                : connection.prepareStatement(sql, new String[] {generatedKeyColumn});
+        statements.put(key, statement);
+        return statement;
+    }
+
+    /**
+     * Close all cached statements
+     */
+    public void close() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+        logger.debug("Statement cache closed ({} hits, {} misses)", hits, misses);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close cached statement", e);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.api.automation.utils;
+
+import com.api.automation.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Set-based cleanup engine for automation test data
+ * Tracks primary keys inserted during a run per registered table (numeric keys in a
+ * primitive hash set) and deletes them at suite end in chunked DELETE ... IN (...)
+ * statements, children before parents, optionally in parallel across independent tables.
+ * Keys generated by the database are read back on insert (see DatabaseManager). Keys whose
+ * DELETE failed stay tracked, so a later cleanup retries them.
+ */
+public class TestDataCleaner {
+
+    private static final Logger logger = LogManager.getLogger(TestDataCleaner.class);
+    private static volatile TestDataCleaner instance;
+
+    private final Map<String, TrackedTable> tables = new ConcurrentHashMap<>();
+    private final int chunkSize;
+    private final boolean parallel;
+
+    private TestDataCleaner(ConfigManager config) {
+        this.chunkSize = Math.max(1, config.getIntProperty("db.cleanup.chunkSize", 1000));
+        this.parallel = Boolean.parseBoolean(config.getProperty("db.cleanup.parallel", "true"));
+    }
+
+    public static TestDataCleaner getInstance() {
+        if (instance == null) {
+            synchronized (TestDataCleaner.class) {
+                if (instance == null) {
+                    instance = new TestDataCleaner(ConfigManager.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Register a table for tracking; parent tables referenced by foreign keys are deleted after it
+     */
+    public TestDataCleaner registerTable(String tableName, String primaryKeyColumn, String... parentTables) {
+        tables.computeIfAbsent(key(tableName), k -> new TrackedTable(tableName, primaryKeyColumn))
+                .parents.addAll(Arrays.asList(parentTables));
+        return this;
+    }
+
+    public boolean isTracked(String tableName) {
+        return tables.containsKey(key(tableName));
+    }
+
+    /**
+     * Primary key column of a registered table, or null if the table is not tracked
+     */
+    public String getPrimaryKeyColumn(String tableName) {
+        TrackedTable table = tables.get(key(tableName));
+        return table == null ? null : table.primaryKeyColumn;
+    }
+
+    /**
+     * Track a primary key inserted into a registered table
+     */
+    public void track(String tableName, Object primaryKey) {
+        TrackedTable table = tables.get(key(tableName));
+        if (table == null) {
+            throw new IllegalArgumentException("Table not registered for cleanup: " + tableName);
+        }
+        table.add(primaryKey);
+    }
+
+    /**
+     * Track the primary key of an inserted row; a no-op for unregistered tables or rows without the key
+     */
+    public void trackRow(String tableName, Map<String, Object> row) {
+        TrackedTable table = tables.get(key(tableName));
+        if (table != null && row.get(table.primaryKeyColumn) != null) {
+            table.add(row.get(table.primaryKeyColumn));
+        }
+    }
+
+    /**
+     * Number of keys currently tracked for a table
+     */
+    public int getTrackedCount(String tableName) {
+        TrackedTable table = tables.get(key(tableName));
+        return table == null ? 0 : table.size();
+    }
+
+    /**
+     * Delete all tracked rows in foreign-key order; returns rows deleted per table
+     */
+    public Map<String, Integer> cleanup(DatabaseManager databaseManager) {
+        long startTime = System.currentTimeMillis();
+        Map<String, Integer> deleted = new ConcurrentHashMap<>();
+        // A pinned transaction is one connection owned by the manager, so it cannot be shared across threads
+        boolean concurrent = parallel && !databaseManager.isInTransaction();
+        ExecutorService executor = concurrent ? Executors.newFixedThreadPool(
+                Math.max(1, Math.min(tables.size(), Runtime.getRuntime().availableProcessors()))) : null;
+
+        try {
+            for (List<TrackedTable> level : deletionLevels()) {
+                if (executor == null || level.size() == 1) {
+                    for (TrackedTable table : level) {
+                        deleted.put(table.name, deleteTracked(databaseManager, table));
+                    }
+                    continue;
+                }
+
+                // Tables on the same level do not reference each other and can be deleted concurrently
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (TrackedTable table : level) {
+                    futures.add(executor.submit(() -> deleteTracked(databaseManager, table)));
+                }
+                for (int i = 0; i < level.size(); i++) {
+                    deleted.put(level.get(i).name, futures.get(i).get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Test data cleanup interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Test data cleanup failed", e.getCause());
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+        logger.info("Cleaned up tracked test data in {} ms: {}", System.currentTimeMillis() - startTime, deleted);
+        return deleted;
+    }
+
+    private int deleteTracked(DatabaseManager databaseManager, TrackedTable table) {
+        List<Object> keys = table.drain();
+        int deleted = 0;
+        int from = 0;
+        try {
+            for (; from < keys.size(); from += chunkSize) {
+                List<Object> chunk = keys.subList(from, Math.min(keys.size(), from + chunkSize));
+                String query = String.format("DELETE FROM %s WHERE %s IN (%s)", table.name, table.primaryKeyColumn,
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")));
+                deleted += databaseManager.executeUpdate(query, chunk.toArray());
+            }
+        } catch (RuntimeException e) {
+            // Inside a transaction the caller may roll back the chunks already deleted too
+            List<Object> undeleted = databaseManager.isInTransaction() ? keys : keys.subList(from, keys.size());
+            table.addAll(undeleted);
+            logger.error("Cleanup of {} failed; {} keys remain tracked", table.name, undeleted.size());
+            throw e;
+        }
+        return deleted;
+    }
+
+    /**
+     * Group tables into levels: each level only contains tables whose children were deleted earlier
+     */
+    private List<List<TrackedTable>> deletionLevels() {
+        Map<String, Integer> pendingChildren = new HashMap<>();
+        for (TrackedTable table : tables.values()) {
+            pendingChildren.putIfAbsent(key(table.name), 0);
+            for (String parent : table.parents) {
+                if (tables.containsKey(key(parent))) {
+                    pendingChildren.merge(key(parent), 1, Integer::sum);
+                }
+            }
+        }
+
+        List<List<TrackedTable>> levels = new ArrayList<>();
+        Set<String> remaining = new HashSet<>(pendingChildren.keySet());
+        while (!remaining.isEmpty()) {
+            List<TrackedTable> level = new ArrayList<>();
+            for (String name : remaining) {
+                if (pendingChildren.get(name) == 0) {
+                    level.add(tables.get(name));
+                }
+            }
+            if (level.isEmpty()) {
+                throw new IllegalStateException("Cyclic foreign key registration between tables: " + remaining);
+            }
+            for (TrackedTable table : level) {
+                remaining.remove(key(table.name));
+                for (String parent : table.parents) {
+                    pendingChildren.computeIfPresent(key(parent), (k, count) -> count - 1);
+                }
+            }
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    private static String key(String tableName) {
+        return tableName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Tracked keys for a single table; integral keys are stored unboxed
+     */
+    private static class TrackedTable {
+        private final String name;
+        private final String primaryKeyColumn;
+        private final Set<String> parents = ConcurrentHashMap.newKeySet();
+        private final LongHashSet numericKeys = new LongHashSet();
+        private final Set<Object> otherKeys = new HashSet<>();
+
+        TrackedTable(String name, String primaryKeyColumn) {
+            this.name = name;
+            this.primaryKeyColumn = primaryKeyColumn;
+        }
+
+        synchronized void add(Object key) {
+            if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+                numericKeys.add(((Number) key).longValue());
+            } else {
+                otherKeys.add(key);
+            }
+        }
+
+        synchronized void addAll(Collection<Object> keys) {
+            for (Object key : keys) {
+                add(key);
+            }
+        }
+
+        synchronized int size() {
+            return numericKeys.size() + otherKeys.size();
+        }
+
+        synchronized List<Object> drain() {
+            List<Object> keys = new ArrayList<>(size());
+            numericKeys.forEach(keys::add);
+            keys.addAll(otherKeys);
+            numericKeys.clear();
+            otherKeys.clear();
+            return keys;
+        }
+    }
+
+    /**
+     * Open-addressing hash set of primitive longs
+     */
+    private static class LongHashSet {
+        private static final long EMPTY = 0L;
+        private long[] slots = new long[64];
+        private int size;
+        private boolean containsZero;
+
+        void add(long value) {
+            if (value == EMPTY) {
+                if (!containsZero) {
+                    containsZero = true;
+                    size++;
+                }
+                return;
+            }
+            if ((size + 1) * 2 > slots.length) {
+                resize(slots.length * 2);
+            }
+            if (insert(slots, value)) {
+                size++;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void forEach(java.util.function.LongConsumer action) {
+            if (containsZero) {
+                action.accept(EMPTY);
+            }
+            for (long slot : slots) {
+                if (slot != EMPTY) {
+                    action.accept(slot);
+                }
+            }
+        }
+
+        void clear() {
+            slots = new long[64];
+            size = 0;
+            containsZero = false;
+        }
+
+        private void resize(int capacity) {
+            long[] resized = new long[capacity];
+            for (long slot : slots) {
+                if (slot != EMPTY) {
+                    insert(resized, slot);
+                }
+            }
+            slots = resized;
+        }
+
+        private static boolean insert(long[] table, long value) {
+            int mask = table.length - 1;
+            // Fibonacci hashing spreads sequential ids across the table
+            int index = (int) ((value * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+            while (table[index] != EMPTY) {
+                if (table[index] == value) {
+                    return false;
+                }
+                index = (index + 1) & mask;
+            }
+            table[index] = value;
+            return true;
+        }
+    }
+}
@@ -6,15 +6,16 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Factory class for generating test data
+ * Randomness comes from the calling thread's TestDataRandom stream, so values are
+ * reproducible from the run seed and never contend across threads
  */
 public class TestDataFactory {
     
     private static final Logger logger = LogManager.getLogger(TestDataFactory.class);
-    private static final Random random = new Random();
     private static ConfigManager config = ConfigManager.getInstance();
     
     /**
@@ -27,14 +28,14 @@ public class TestDataFactory {
         String[] lastNames = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis"};
         String[] jobs = {"Software Engineer", "Product Manager", "Designer", "QA Engineer", "DevOps Engineer", "Data Scientist"};
         
-        String firstName = firstNames[random.nextInt(firstNames.length)];
-        String lastName = lastNames[random.nextInt(lastNames.length)];
-        String job = jobs[random.nextInt(jobs.length)];
+        String firstName = firstNames[random().nextInt(firstNames.length)];
+        String lastName = lastNames[random().nextInt(lastNames.length)];
+        String job = jobs[random().nextInt(jobs.length)];
         
         user.put("name", firstName + " " + lastName);
         user.put("job", job);
-        user.put("email", firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com");
-        user.put("age", 25 + random.nextInt(40)); // Age between 25-65
+        user.put("email", UniqueIdGenerator.getInstance().nextEmail(firstName + "." + lastName));
+        user.put("age", 25 + random().nextInt(40)); // Age between 25-65
         
         logger.info("Generated random user: " + user.get("name"));
         return user;
@@ -55,8 +56,8 @@ public class TestDataFactory {
      */
     public static Map<String, String> getInvalidLoginCredentials() {
         Map<String, String> credentials = new HashMap<>();
-        credentials.put("email", "invalid" + random.nextInt(1000) + "@example.com");
-        credentials.put("password", "wrongpassword" + random.nextInt(1000));
+        credentials.put("email", "invalid" + random().nextInt(1000) + "@example.com");
+        credentials.put("password", "wrongpassword" + random().nextInt(1000));
         return credentials;
     }
     
@@ -65,8 +66,8 @@ public class TestDataFactory {
      */
     public static Map<String, String> generateRegistrationData() {
         Map<String, String> registration = new HashMap<>();
-        registration.put("email", "user" + random.nextInt(10000) + "@example.com");
-        registration.put("password", "password" + random.nextInt(1000));
+        registration.put("email", UniqueIdGenerator.getInstance().nextEmail());
+        registration.put("password", "password" + random().nextInt(1000));
         return registration;
     }
     
@@ -77,7 +78,7 @@ public class TestDataFactory {
         Map<String, Object> invalidUser = new HashMap<>();
         
         // Various invalid scenarios
-        int scenario = random.nextInt(4);
+        int scenario = random().nextInt(4);
         switch (scenario) {
             case 0: // Empty name
                 invalidUser.put("name", "");
@@ -121,7 +122,7 @@ public class TestDataFactory {
         String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < length; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
+            sb.append(chars.charAt(random().nextInt(chars.length())));
         }
         return sb.toString();
     }
@@ -130,6 +131,10 @@ public class TestDataFactory {
      * Generate random number within range
      */
     public static int generateRandomNumber(int min, int max) {
-        return min + random.nextInt(max - min + 1);
+        return min + random().nextInt(max - min + 1);
+    }
+
+    private static SplittableRandom random() {
+        return TestDataRandom.current();
     }
 }
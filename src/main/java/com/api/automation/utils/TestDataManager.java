@@ -1,16 +1,22 @@
 package com.api.automation.utils;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.api.automation.config.ConfigManager;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javafaker.Faker;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Enhanced test data manager supporting multiple data sources
@@ -19,9 +25,12 @@ import java.util.*;
 public class TestDataManager {
     
     private static final Logger logger = LogManager.getLogger(TestDataManager.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final Faker faker = new Faker();
+    private static final ObjectMapper objectMapper = ObjectMapperProvider.mapper();
     private static TestDataManager instance;
+
+    private final Map<String, DataPool<Map<String, Object>>> dataPools = new ConcurrentHashMap<>();
+    private final Map<String, FixtureTable> fixtures = new ConcurrentHashMap<>();
+    private final Object fixtureCompileLock = new Object();
     
     private TestDataManager() {}
     
@@ -38,86 +47,182 @@ public class TestDataManager {
     
     /**
      * Load test data from JSON file
+     * Binds straight from the token stream to maps, without an intermediate tree
      */
     public Map<String, Object> loadJsonTestData(String filePath) {
-        try {
-            JsonNode jsonNode = objectMapper.readTree(new FileInputStream(filePath));
-            return objectMapper.convertValue(jsonNode, Map.class);
+        try (JsonParser parser = objectMapper.getFactory().createParser(new File(filePath))) {
+            return objectMapper.readValue(parser, new TypeReference<Map<String, Object>>() {});
         } catch (IOException e) {
             logger.error("Failed to load JSON test data from: {}", filePath, e);
             throw new RuntimeException("Failed to load JSON test data", e);
         }
     }
+
+    /**
+     * Load one array of a JSON file, binding each element to the given type
+     * The array is addressed by JSON pointer or by field name, see {@link JsonStreamReader#open}
+     */
+    public <T> List<T> loadJsonArray(String filePath, String arrayPath, Class<T> type) {
+        List<T> elements = new ArrayList<>();
+        try (JsonStreamReader<T> reader = JsonStreamReader.open(filePath, arrayPath, type)) {
+            reader.forEachRemaining(elements::add);
+        }
+        logger.info("Loaded {} elements of test data from JSON file: {}", elements.size(), filePath);
+        return elements;
+    }
+
+    /**
+     * Open one array of a JSON file for element-by-element reading; the caller must close the reader
+     */
+    public <T> JsonStreamReader<T> openJsonArray(String filePath, String arrayPath, Class<T> type) {
+        return JsonStreamReader.open(filePath, arrayPath, type);
+    }
+
+    /**
+     * Stream one array of a JSON file lazily; use in try-with-resources to release the file
+     */
+    public <T> Stream<T> streamJsonArray(String filePath, String arrayPath, Class<T> type) {
+        return JsonStreamReader.open(filePath, arrayPath, type).stream();
+    }
     
     /**
      * Load test data from Excel file
+     * Rows are read through the streaming sheet reader and are read-only
      */
     public List<Map<String, Object>> loadExcelTestData(String filePath, String sheetName) {
         List<Map<String, Object>> testData = new ArrayList<>();
-        
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = new XSSFWorkbook(fis)) {
-            
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) {
-                throw new RuntimeException("Sheet '" + sheetName + "' not found in Excel file");
-            }
-            
-            // Get header row
-            Row headerRow = sheet.getRow(0);
-            List<String> headers = new ArrayList<>();
-            for (Cell cell : headerRow) {
-                headers.add(cell.getStringCellValue());
-            }
-            
-            // Read data rows
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row != null) {
-                    Map<String, Object> rowData = new HashMap<>();
-                    for (int j = 0; j < headers.size(); j++) {
-                        Cell cell = row.getCell(j);
-                        Object cellValue = getCellValue(cell);
-                        rowData.put(headers.get(j), cellValue);
-                    }
-                    testData.add(rowData);
-                }
-            }
-            
-            logger.info("Loaded {} rows of test data from Excel file: {}", testData.size(), filePath);
-            
-        } catch (IOException e) {
-            logger.error("Failed to load Excel test data from: {}", filePath, e);
-            throw new RuntimeException("Failed to load Excel test data", e);
+        try (ExcelSheetReader reader = ExcelSheetReader.open(filePath, sheetName)) {
+            reader.forEachRemaining(testData::add);
         }
-        
+        logger.info("Loaded {} rows of test data from Excel file: {}", testData.size(), filePath);
         return testData;
     }
+
+    /**
+     * Open an Excel sheet for row-by-row reading; the caller must close the reader
+     */
+    public ExcelSheetReader openExcelTestData(String filePath, String sheetName) {
+        return ExcelSheetReader.open(filePath, sheetName);
+    }
+
+    /**
+     * Stream Excel rows lazily; use in try-with-resources to release the file
+     */
+    public Stream<Map<String, Object>> streamExcelTestData(String filePath, String sheetName) {
+        return ExcelSheetReader.open(filePath, sheetName).stream();
+    }
+
+    /**
+     * Excel rows as a lazy TestNG data provider; see {@link #jsonDataProvider} for the row layout
+     */
+    public Iterator<Object[]> excelDataProvider(String filePath, String sheetName, String... fields) {
+        ExcelSheetReader reader = ExcelSheetReader.open(filePath, sheetName);
+        return new LazyDataProvider(reader, fields, reader);
+    }
+
+    /**
+     * Elements of a JSON array as a lazy TestNG data provider
+     * The array is located by JSON pointer (e.g. "/testScenarios/userCreation") or field name
+     * and each element is parsed only when TestNG asks for it. Without fields every invocation gets
+     * the element itself; with fields it gets those values of the element, in order.
+     */
+    public Iterator<Object[]> jsonDataProvider(String filePath, String arrayPath, String... fields) {
+        JsonStreamReader<Object> elements = JsonStreamReader.open(filePath, arrayPath, Object.class);
+        return new LazyDataProvider(elements, fields, elements);
+    }
+
+    /**
+     * Query results as a lazy TestNG data provider; rows are fetched from an open cursor
+     */
+    public Iterator<Object[]> databaseDataProvider(DatabaseManager databaseManager, String query, Object[] parameters,
+                                                   String... fields) {
+        Stream<ResultRow> rows = databaseManager.streamRows(query, parameters);
+        return new LazyDataProvider(rows.map(ResultRow::toMap).iterator(), fields, rows::close);
+    }
+
+    /**
+     * Generated records as a lazy TestNG data provider; each record is created on demand
+     */
+    public Iterator<Object[]> generatedDataProvider(int count, Supplier<Map<String, Object>> generator, String... fields) {
+        return new LazyDataProvider(Stream.generate(generator).limit(count).iterator(), fields, null);
+    }
+    
+    /**
+     * Feeder over the elements of a JSON array
+     */
+    public DataFeeder<Map<String, Object>> jsonFeeder(String filePath, String arrayPath, DataFeeder.Strategy strategy) {
+        try (JsonStreamReader<Map<String, Object>> reader = JsonStreamReader.open(filePath, arrayPath, mapType())) {
+            return DataFeeder.from(arrayPath, reader, mapType(), strategy, feederMmapThreshold());
+        }
+    }
+
+    /**
+     * Feeder over the rows of an Excel sheet
+     */
+    public DataFeeder<Map<String, Object>> excelFeeder(String filePath, String sheetName, DataFeeder.Strategy strategy) {
+        try (ExcelSheetReader reader = ExcelSheetReader.open(filePath, sheetName)) {
+            return DataFeeder.from(sheetName, reader, mapType(), strategy, feederMmapThreshold());
+        }
+    }
+
+    /**
+     * Feeder over the rows of a query
+     */
+    public DataFeeder<Map<String, Object>> databaseFeeder(DatabaseManager databaseManager, String name, String query,
+                                                          Object[] parameters, DataFeeder.Strategy strategy) {
+        try (Stream<ResultRow> rows = databaseManager.streamRows(query, parameters)) {
+            return DataFeeder.from(name, rows.map(ResultRow::toMap).iterator(), mapType(), strategy,
+                    feederMmapThreshold());
+        }
+    }
+
+    /**
+     * Feeder over a fixed number of generated records for a pattern
+     */
+    public DataFeeder<Map<String, Object>> generatedFeeder(String pattern, int count, DataFeeder.Strategy strategy) {
+        Iterator<Map<String, Object>> records = Stream.generate(() -> generateTestDataWithPattern(pattern))
+                .limit(count).iterator();
+        return DataFeeder.from(pattern, records, mapType(), strategy, feederMmapThreshold());
+    }
+
+    private static int feederMmapThreshold() {
+        return ConfigManager.getInstance().getIntProperty("data.feeder.mmapThreshold", 100000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Map<String, Object>> mapType() {
+        return (Class<Map<String, Object>>) (Class<?>) Map.class;
+    }
     
     /**
-     * Get cell value based on cell type
+     * Memory-mapped compiled fixture, e.g. "test-data.users" or "users-sheet.Users"
+     * Sources under test.data.path are compiled into data.fixture.dir first if they are
+     * missing or stale, so the fixtures profile build step is an optimization, not a requirement
      */
-    private Object getCellValue(Cell cell) {
-        if (cell == null) {
-            return null;
+    public FixtureTable getFixture(String name) {
+        FixtureTable cached = fixtures.get(name);
+        if (cached != null) {
+            return cached;
         }
         
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue();
-                } else {
-                    return cell.getNumericCellValue();
-                }
-            case BOOLEAN:
-                return cell.getBooleanCellValue();
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return null;
+        // Compile outside the map: a compile can take seconds and must not block other keys
+        ConfigManager config = ConfigManager.getInstance();
+        Path fixtureDir = Paths.get(config.getProperty("data.fixture.dir", "target/test-fixtures"));
+        synchronized (fixtureCompileLock) {
+            FixtureCompiler.compileStale(Paths.get(config.getProperty("test.data.path", "src/test/resources/testdata/")),
+                    fixtureDir);
+        }
+        Path fixture = fixtureDir.resolve(name + FixtureCompiler.EXTENSION);
+        if (!Files.exists(fixture)) {
+            throw new IllegalArgumentException("No compiled fixture named '" + name + "' in " + fixtureDir);
         }
+        FixtureTable table = FixtureTable.open(fixture);
+        FixtureTable existing = fixtures.putIfAbsent(name, table);
+        if (existing != null) {
+            return existing;
+        }
+        logger.info("Mapped fixture {} ({} rows, columns {})", name, table.getRowCount(), table.getColumnNames());
+        return table;
     }
     
     /**
@@ -125,15 +230,15 @@ public class TestDataManager {
      */
     public Map<String, Object> generateFakeUserData() {
         Map<String, Object> userData = new HashMap<>();
-        userData.put("firstName", faker.name().firstName());
-        userData.put("lastName", faker.name().lastName());
-        userData.put("email", faker.internet().emailAddress());
-        userData.put("phone", faker.phoneNumber().phoneNumber());
-        userData.put("address", faker.address().fullAddress());
-        userData.put("company", faker.company().name());
-        userData.put("job", faker.job().title());
-        userData.put("username", faker.name().username());
-        userData.put("password", faker.internet().password(8, 16));
+        userData.put("firstName", faker().name().firstName());
+        userData.put("lastName", faker().name().lastName());
+        userData.put("email", UniqueIdGenerator.getInstance().nextEmail());
+        userData.put("phone", faker().phoneNumber().phoneNumber());
+        userData.put("address", faker().address().fullAddress());
+        userData.put("company", faker().company().name());
+        userData.put("job", faker().job().title());
+        userData.put("username", UniqueIdGenerator.getInstance().nextUsername());
+        userData.put("password", faker().internet().password(8, 16));
         return userData;
     }
     
@@ -142,13 +247,13 @@ public class TestDataManager {
      */
     public Map<String, Object> generateFakeProductData() {
         Map<String, Object> productData = new HashMap<>();
-        productData.put("name", faker.commerce().productName());
-        productData.put("description", faker.lorem().sentence());
-        productData.put("price", faker.number().randomDouble(2, 10, 1000));
-        productData.put("category", faker.commerce().department());
-        productData.put("brand", faker.company().name());
-        productData.put("sku", faker.code().ean13());
-        productData.put("inStock", faker.bool().bool());
+        productData.put("name", faker().commerce().productName());
+        productData.put("description", faker().lorem().sentence());
+        productData.put("price", faker().number().randomDouble(2, 10, 1000));
+        productData.put("category", faker().commerce().department());
+        productData.put("brand", faker().company().name());
+        productData.put("sku", faker().code().ean13());
+        productData.put("inStock", faker().bool().bool());
         return productData;
     }
     
@@ -156,28 +261,28 @@ public class TestDataManager {
      * Generate random string
      */
     public String generateRandomString(int length) {
-        return faker.lorem().characters(length);
+        return faker().lorem().characters(length);
     }
     
     /**
      * Generate random number
      */
     public int generateRandomNumber(int min, int max) {
-        return faker.number().numberBetween(min, max);
+        return faker().number().numberBetween(min, max);
     }
     
     /**
      * Generate random email
      */
     public String generateRandomEmail() {
-        return faker.internet().emailAddress();
+        return faker().internet().emailAddress();
     }
     
     /**
      * Generate random phone number
      */
     public String generateRandomPhoneNumber() {
-        return faker.phoneNumber().phoneNumber();
+        return faker().phoneNumber().phoneNumber();
     }
     
     /**
@@ -192,8 +297,8 @@ public class TestDataManager {
             case "product":
                 return generateFakeProductData();
             case "minimal":
-                data.put("id", faker.number().randomNumber());
-                data.put("name", faker.name().name());
+                data.put("id", faker().number().randomNumber());
+                data.put("name", faker().name().name());
                 return data;
             default:
                 logger.warn("Unknown pattern: {}. Generating minimal data.", pattern);
@@ -201,6 +306,33 @@ public class TestDataManager {
         }
     }
     
+    /**
+     * Pool of pre-generated records for a pattern ("user", "product", "minimal")
+     * Sized by data.pool.size and refilled in the background below data.pool.lowWatermark
+     */
+    public DataPool<Map<String, Object>> getDataPool(String pattern) {
+        return dataPools.computeIfAbsent(pattern.toLowerCase(), key -> {
+            ConfigManager config = ConfigManager.getInstance();
+            int size = config.getIntProperty("data.pool.size", 10000);
+            int lowWatermark = config.getIntProperty("data.pool.lowWatermark", size / 4);
+            return new DataPool<>(key, size, lowWatermark, () -> generateTestDataWithPattern(key));
+        });
+    }
+
+    /**
+     * Take a pre-generated record for a pattern; falls back to inline generation if the pool is empty
+     */
+    public Map<String, Object> nextPooledData(String pattern) {
+        return getDataPool(pattern).take();
+    }
+
+    /**
+     * The calling thread's Faker, seeded from the run's TestDataRandom stream
+     */
+    private static Faker faker() {
+        return TestDataRandom.faker();
+    }
+    
     /**
      * Get test data by key from properties
      */
@@ -220,4 +352,58 @@ public class TestDataManager {
         }
         return mergedData;
     }
+
+    /**
+     * Adapts a row source to TestNG's Iterator<Object[]> data provider contract
+     * Access is synchronized so parallel data providers can share it, and the
+     * underlying resource is closed as soon as the source is exhausted
+     */
+    private static class LazyDataProvider implements Iterator<Object[]> {
+        private final Iterator<?> source;
+        private final String[] fields;
+        private AutoCloseable resource;
+
+        LazyDataProvider(Iterator<?> source, String[] fields, AutoCloseable resource) {
+            this.source = source;
+            this.fields = fields;
+            this.resource = resource;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            boolean hasNext = source.hasNext();
+            if (!hasNext) {
+                release();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public synchronized Object[] next() {
+            Object row = source.next();
+            if (fields.length == 0) {
+                return new Object[]{row};
+            }
+            if (!(row instanceof Map)) {
+                throw new IllegalArgumentException("Cannot select fields from non-object test data row: " + row);
+            }
+            Map<?, ?> values = (Map<?, ?>) row;
+            Object[] parameters = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                parameters[i] = values.get(fields[i]);
+            }
+            return parameters;
+        }
+
+        private void release() {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close test data source", e);
+                }
+                resource = null;
+            }
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package com.api.automation.utils;
+
+import com.api.automation.config.ConfigManager;
+import com.github.javafaker.Faker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Seedable, splittable randomness for test data generation
+ * Every thread draws from its own SplittableRandom split off a root seeded with the run seed,
+ * so generation never contends across threads. Load scenarios call beginIteration() with a
+ * virtual user and iteration index; everything generated afterwards on that thread, including
+ * Faker values, is a pure function of (run seed, stream, iteration) and can be replayed
+ * exactly; endIteration() returns the thread to its own stream. Keys for UniqueIdGenerator
+ * emails and usernames are also salted with a per-run nonce, so two runs with the same
+ * seed do not collide on rows the first one left behind. replay() and data.replay=true
+ * drop the nonce, making those keys a pure function of the seed and data.shard.id too.
+ * Numeric ids from UniqueIdGenerator.nextId() stay clock-based and are never replayable.
+ * The run seed comes from data.seed (system property or config) and is logged at startup.
+ */
+public final class TestDataRandom {
+
+    private static final Logger logger = LogManager.getLogger(TestDataRandom.class);
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long RUN_SEED = resolveRunSeed();
+    private static final long KEY_NONCE = resolveKeyNonce();
+    private static final SplittableRandom root = new SplittableRandom(RUN_SEED);
+    private static final ThreadLocal<Source> sources = ThreadLocal.withInitial(TestDataRandom::splitSource);
+
+    private TestDataRandom() {}
+
+    private static long resolveRunSeed() {
+        String configured = System.getProperty("data.seed", ConfigManager.getInstance().getProperty("data.seed"));
+        long seed = configured != null && !configured.trim().isEmpty()
+                ? Long.parseLong(configured.trim())
+                : mix(System.nanoTime() ^ System.currentTimeMillis());
+        logger.info("Test data run seed: {} (reproduce with -Ddata.seed={})", seed, seed);
+        return seed;
+    }
+
+    private static long resolveKeyNonce() {
+        String replay = System.getProperty("data.replay", ConfigManager.getInstance().getProperty("data.replay"));
+        if (Boolean.parseBoolean(replay)) {
+            logger.info("data.replay set: identity keys depend on the seed only");
+            return 0L;
+        }
+        return mix(System.nanoTime() ^ System.identityHashCode(new Object())) | 1L;
+    }
+
+    private static Source splitSource() {
+        synchronized (root) {
+            return new Source(root.split());
+        }
+    }
+
+    public static long getRunSeed() {
+        return RUN_SEED;
+    }
+
+    /**
+     * The calling thread's random stream
+     */
+    public static SplittableRandom current() {
+        return sources.get().random;
+    }
+
+    /**
+     * The calling thread's Faker, driven by the same seeded stream
+     */
+    public static Faker faker() {
+        return sources.get().faker;
+    }
+
+    /**
+     * Reseed the calling thread for one iteration of a stream (e.g. a virtual user)
+     * Returns the derived seed, which identifies the iteration in failure reports
+     */
+    public static long beginIteration(long streamId, long iteration) {
+        long seed = seedFor(streamId, iteration);
+        sources.get().reseed(seed, false);
+        return seed;
+    }
+
+    /**
+     * Reseed the calling thread with a seed previously returned by beginIteration
+     * Identity keys are derived from the seed alone until endIteration
+     */
+    public static void replay(long iterationSeed) {
+        sources.get().reseed(iterationSeed, true);
+    }
+
+    /**
+     * Leave the current iteration: the thread draws from a fresh split of the run stream
+     * and UniqueIdGenerator goes back to counter-based keys
+     */
+    public static void endIteration() {
+        Source source = sources.get();
+        if (source.inIteration) {
+            synchronized (root) {
+                source.resume(root.split());
+            }
+        }
+    }
+
+    /**
+     * Check if the calling thread is inside an iteration started by beginIteration or replay
+     */
+    static boolean inIteration() {
+        return sources.get().inIteration;
+    }
+
+    /**
+     * Next 64-bit value of the iteration's key sequence, salted (e.g. with the shard id);
+     * a function of the iteration seed, the salt, how many keys were drawn before and,
+     * unless replaying, the run nonce
+     */
+    static long nextIterationKey(long salt) {
+        Source source = sources.get();
+        long nonce = source.replaying ? 0L : KEY_NONCE;
+        return mix(mix(source.iterationSeed + GOLDEN_GAMMA * ++source.keysDrawn) ^ mix(salt + GOLDEN_GAMMA) ^ nonce);
+    }
+
+    /**
+     * Independent stream for one iteration, without touching the thread's stream
+     */
+    public static SplittableRandom forIteration(long streamId, long iteration) {
+        return new SplittableRandom(seedFor(streamId, iteration));
+    }
+
+    /**
+     * Seed for an iteration: the run seed mixed with the stream and iteration indexes
+     */
+    public static long seedFor(long streamId, long iteration) {
+        return mix(mix(RUN_SEED + GOLDEN_GAMMA * (streamId + 1)) + GOLDEN_GAMMA * (iteration + 1));
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Per-thread generator state; Faker is built once per thread and reseeded in place
+     */
+    private static class Source {
+        private SplittableRandom random;
+        private final Random fakerRandom;
+        private final Faker faker;
+        private boolean inIteration;
+        private boolean replaying;
+        private long iterationSeed;
+        private long keysDrawn;
+
+        Source(SplittableRandom random) {
+            this.random = random;
+            this.fakerRandom = new Random(random.nextLong());
+            this.faker = new Faker(fakerRandom);
+        }
+
+        void reseed(long seed, boolean replay) {
+            random = new SplittableRandom(seed);
+            fakerRandom.setSeed(random.nextLong());
+            inIteration = true;
+            replaying = replay;
+            iterationSeed = seed;
+            keysDrawn = 0;
+        }
+
+        void resume(SplittableRandom split) {
+            random = split;
+            fakerRandom.setSeed(random.nextLong());
+            inIteration = false;
+            replaying = false;
+        }
+    }
+}
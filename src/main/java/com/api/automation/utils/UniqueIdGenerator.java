@@ -0,0 +1,162 @@
+package com.api.automation.utils;
+
+import com.api.automation.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collision-free identities for create-heavy load scenarios
+ * An id packs 31 bits of seconds since 2024-01-01, a 10-bit worker shard and a 22-bit
+ * sequence. The seconds and sequence live in one atomic counter that starts at the
+ * current second, so ids are handed out with a single increment: a sequence overflow
+ * carries into the seconds field, and a restarted worker always starts past any id it
+ * issued before as long as it averaged under 4M ids per second. Distributed workers
+ * must set distinct data.shard.id values (0-1023).
+ *
+ * Inside a TestDataRandom iteration, the keys used for emails and usernames are instead
+ * derived from the iteration seed, the shard and a per-run nonce, so a second run with the
+ * same seed does not collide with rows the first one left. Replayed iterations (replay()
+ * or data.replay=true) drop the nonce and regenerate the same identities for the same
+ * data.shard.id. Iteration keys are unique across iterations and shards with 64-bit hash
+ * probability; numeric ids always come from the counter.
+ */
+public class UniqueIdGenerator {
+
+    private static final Logger logger = LogManager.getLogger(UniqueIdGenerator.class);
+    private static final long EPOCH_SECONDS = 1704067200L;
+    private static final int SHARD_BITS = 10;
+    private static final int SEQUENCE_BITS = 22;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int MAX_SHARD = (1 << SHARD_BITS) - 1;
+    private static volatile UniqueIdGenerator instance;
+
+    private final int shardId;
+    private final AtomicLong counter;
+    private final String emailDomain;
+
+    public UniqueIdGenerator(int shardId, String emailDomain) {
+        if (shardId < 0 || shardId > MAX_SHARD) {
+            throw new IllegalArgumentException("Shard id must be between 0 and " + MAX_SHARD + ": " + shardId);
+        }
+        this.shardId = shardId;
+        this.emailDomain = emailDomain;
+        long seconds = System.currentTimeMillis() / 1000 - EPOCH_SECONDS;
+        this.counter = new AtomicLong(seconds << SEQUENCE_BITS);
+    }
+
+    public static UniqueIdGenerator getInstance() {
+        if (instance == null) {
+            synchronized (UniqueIdGenerator.class) {
+                if (instance == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    String shard = System.getProperty("data.shard.id", config.getProperty("data.shard.id"));
+                    int shardId = shard != null && !shard.trim().isEmpty() ? Integer.parseInt(shard.trim()) : defaultShard();
+                    instance = new UniqueIdGenerator(shardId,
+                            config.getProperty("data.email.domain", "example.com"));
+                    logger.info("Unique id generator started on shard {}", shardId);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Shard derived from host name and process id; only unique with high probability,
+     * so distributed runs should configure data.shard.id explicitly
+     */
+    private static int defaultShard() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        String worker = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        logger.warn("data.shard.id not set; deriving shard from {}", worker);
+        return (worker.hashCode() & 0x7fffffff) % (MAX_SHARD + 1);
+    }
+
+    /**
+     * Next unique id (positive 63-bit value)
+     */
+    public long nextId() {
+        long next = counter.incrementAndGet();
+        return ((next >>> SEQUENCE_BITS) << (SHARD_BITS + SEQUENCE_BITS))
+                | ((long) shardId << SEQUENCE_BITS)
+                | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Next unique key in compact base 36, safe for emails and usernames; deterministic
+     * within a TestDataRandom iteration, otherwise the next id
+     */
+    public String nextKey() {
+        return TestDataRandom.inIteration() ? nextIterationKey() : Long.toString(nextId(), 36);
+    }
+
+    private String nextIterationKey() {
+        return Long.toUnsignedString(TestDataRandom.nextIterationKey(shardId), 36);
+    }
+
+    public String nextEmail() {
+        return nextEmail("user");
+    }
+
+    /**
+     * Unique email with a readable prefix, e.g. jane.smith.k2x9f0c1a4@example.com
+     */
+    public String nextEmail(String prefix) {
+        return prefix.toLowerCase(Locale.ROOT) + "." + nextKey() + "@" + emailDomain;
+    }
+
+    public String nextUsername() {
+        return "user_" + nextKey();
+    }
+
+    /**
+     * Id, email and username; email and username share one key (derived from the id
+     * outside iterations)
+     */
+    public Identity nextIdentity() {
+        long id = nextId();
+        String key = TestDataRandom.inIteration() ? nextIterationKey() : Long.toString(id, 36);
+        return new Identity(id, "user." + key + "@" + emailDomain, "user_" + key);
+    }
+
+    public int getShardId() {
+        return shardId;
+    }
+
+    /**
+     * Shard that issued an id
+     */
+    public static int shardOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_SHARD);
+    }
+
+    /**
+     * A generated identity
+     */
+    public static class Identity {
+        public final long id;
+        public final String email;
+        public final String username;
+
+        public Identity(long id, String email, String username) {
+            this.id = id;
+            this.email = email;
+            this.username = username;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Identity{id=%d, email='%s', username='%s'}", id, email, username);
+        }
+    }
+}
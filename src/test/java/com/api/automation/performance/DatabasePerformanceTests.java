@@ -0,0 +1,140 @@
+package com.api.automation.performance;
+
+import com.api.automation.base.BaseTest;
+import com.api.automation.config.ConfigManager;
+import com.api.automation.utils.ConnectionPoolManager;
+import com.api.automation.utils.DatabaseManager;
+import com.api.automation.utils.ExtentReportManager;
+import com.api.automation.utils.TestDataCleaner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks for DatabaseManager batch, pool, streaming and cleanup features
+ * Runs against the embedded in-memory database: mvn test -Denv=local
+ */
+public class DatabasePerformanceTests extends BaseTest {
+
+    private static final Logger logger = LogManager.getLogger(DatabasePerformanceTests.class);
+    private static final int ROW_COUNT = 100_000;
+
+    private DatabaseManager db;
+
+    @BeforeClass
+    public void setUpDatabase() {
+        if (!ConnectionPoolManager.isEmbedded(ConfigManager.getInstance())) {
+            throw new SkipException("Database benchmarks require db.mode=embedded (run with -Denv=local)");
+        }
+        db = new DatabaseManager();
+        db.connect();
+        TestDataCleaner.getInstance()
+                .registerTable("users", "id")
+                .registerTable("user_sessions", "id", "users");
+    }
+
+    @Test(groups = {"performance", "database"}, priority = 1)
+    public void testBatchInsertThroughput() {
+        List<Map<String, Object>> users = new ArrayList<>(ROW_COUNT);
+        List<Map<String, Object>> sessions = new ArrayList<>(ROW_COUNT);
+        for (long i = 1; i <= ROW_COUNT; i++) {
+            Map<String, Object> user = new HashMap<>();
+            user.put("id", i);
+            user.put("email", "user" + i + "@example.com");
+            user.put("name", "User " + i);
+            user.put("job", "QA Engineer");
+            users.add(user);
+
+            Map<String, Object> session = new HashMap<>();
+            session.put("id", i);
+            session.put("user_id", i);
+            session.put("token", "token-" + i);
+            sessions.add(session);
+        }
+
+        DatabaseManager.BatchResult userResult = db.insertBatch("users", users, 1000, true);
+        DatabaseManager.BatchResult sessionResult = db.insertBatch("user_sessions", sessions, 1000, true);
+
+        Assert.assertEquals(userResult.rowsAffected, ROW_COUNT, "All users should be inserted");
+        Assert.assertEquals(sessionResult.rowsAffected, ROW_COUNT, "All sessions should be inserted");
+
+        ExtentReportManager.logPass(String.format("Batch insert: %.0f users/s, %.0f sessions/s",
+                userResult.rowsPerSecond, sessionResult.rowsPerSecond));
+    }
+
+    @Test(groups = {"performance", "database"}, priority = 2, dependsOnMethods = "testBatchInsertThroughput")
+    public void testStreamingVerification() {
+        long startTime = System.currentTimeMillis();
+        long[] idSum = {0};
+
+        long rows = db.forEachRow("SELECT id, email FROM users", row -> {
+            idSum[0] += row.getLong("id");
+            return true;
+        });
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        Assert.assertEquals(rows, ROW_COUNT, "Streaming query should visit every row");
+        Assert.assertEquals(idSum[0], (long) ROW_COUNT * (ROW_COUNT + 1) / 2, "Streamed ids should match inserted ids");
+
+        ExtentReportManager.logPass(String.format("Streamed %d rows in %d ms", rows, elapsed));
+    }
+
+    @Test(groups = {"performance", "database"}, priority = 3, dependsOnMethods = "testBatchInsertThroughput")
+    public void testConcurrentPooledQueries() throws Exception {
+        int threads = 20;
+        int queriesPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long startTime = System.currentTimeMillis();
+
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * queriesPerThread;
+            futures.add(executor.submit(() -> {
+                int found = 0;
+                for (int i = 1; i <= queriesPerThread; i++) {
+                    if (db.recordExists("users", "id = ?", (long) offset + i)) {
+                        found++;
+                    }
+                }
+                return found;
+            }));
+        }
+
+        int found = 0;
+        for (Future<Integer> future : futures) {
+            found += future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        Map<String, Integer> metrics = db.getPoolMetrics();
+        Assert.assertEquals(found, threads * queriesPerThread, "Every lookup should find its user");
+        Assert.assertTrue(metrics.get("total") <= metrics.get("maxSize"), "Pool must stay bounded: " + metrics);
+
+        ExtentReportManager.logPass(String.format("%d pooled lookups from %d threads in %d ms (%.0f queries/s), pool %s",
+                found, threads, elapsed, found * 1000.0 / Math.max(1, elapsed), metrics));
+    }
+
+    @Test(groups = {"performance", "database"}, priority = 4, dependsOnMethods = "testBatchInsertThroughput")
+    public void testTrackedCleanup() {
+        long startTime = System.currentTimeMillis();
+        Map<String, Integer> deleted = db.cleanupTrackedData();
+        long elapsed = System.currentTimeMillis() - startTime;
+
+        Assert.assertEquals(deleted.get("users").intValue(), ROW_COUNT, "All tracked users should be deleted");
+        Assert.assertEquals(deleted.get("user_sessions").intValue(), ROW_COUNT, "All tracked sessions should be deleted");
+        Assert.assertEquals(((Number) db.getSingleValue("SELECT COUNT(*) FROM users")).intValue(), 0);
+
+        logger.info("Cleanup of {} rows took {} ms", 2 * ROW_COUNT, elapsed);
+        ExtentReportManager.logPass(String.format("Cleaned up %d rows in %d ms", 2 * ROW_COUNT, elapsed));
+    }
+}
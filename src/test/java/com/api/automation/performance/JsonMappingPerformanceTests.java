@@ -0,0 +1,144 @@
+package com.api.automation.performance;
+
+import com.api.automation.models.User;
+import com.api.automation.models.UserResponse;
+import com.api.automation.utils.ObjectMapperProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Throughput of JSON binding with the shared ObjectMapperProvider configuration against
+ * the previous per-component mappers, and allocations of response binding. Warmed-up loops
+ * rather than a JMH harness, so the numbers are indicative;
+ * run with: mvn test -Dtest=JsonMappingPerformanceTests
+ */
+public class JsonMappingPerformanceTests {
+
+    private static final Logger logger = LogManager.getLogger(JsonMappingPerformanceTests.class);
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+
+    private String userResponseJson;
+    private User user;
+
+    @BeforeClass
+    public void setUpPayloads() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            users.add(new User(i, "user" + i + "@example.com", "First" + i, "Last" + i,
+                    "https://example.com/img/faces/" + i + "-image.jpg"));
+        }
+        UserResponse response = new UserResponse();
+        response.setPage(1);
+        response.setPerPage(6);
+        response.setTotal(12);
+        response.setTotalPages(2);
+        response.setData(users);
+        userResponseJson = ObjectMapperProvider.mapper().writeValueAsString(response);
+        user = users.get(0);
+        user.setName("John Doe");
+        user.setJob("QA Engineer");
+    }
+
+    @Test(groups = {"performance"})
+    public void testDeserializationThroughput() throws Exception {
+        String json = userResponseJson;
+        ObjectMapper shared = ObjectMapperProvider.mapper();
+        ObjectReader reader = ObjectMapperProvider.userResponseReader();
+
+        double perCall = measure("new ObjectMapper per parse",
+                () -> new ObjectMapper().readValue(json, UserResponse.class));
+        double sharedMapper = measure("shared ObjectMapper.readValue",
+                () -> shared.readValue(json, UserResponse.class));
+        double cachedReader = measure("cached ObjectReader",
+                () -> reader.readValue(json));
+
+        Assert.assertTrue(cachedReader > perCall,
+                "Cached reader should outperform a mapper per parse: " + cachedReader + " vs " + perCall + " ops/ms");
+        logger.info("Cached reader vs shared mapper: {}x", String.format("%.2f", cachedReader / sharedMapper));
+    }
+
+    @Test(groups = {"performance"})
+    public void testSerializationThroughput() throws Exception {
+        User body = user;
+        ObjectMapper shared = ObjectMapperProvider.mapper();
+        ObjectWriter writer = ObjectMapperProvider.writerFor(User.class);
+
+        double perCall = measure("new ObjectMapper per write",
+                () -> new ObjectMapper().writeValueAsBytes(body));
+        double cachedWriter = measure("cached ObjectWriter",
+                () -> writer.writeValueAsBytes(body));
+        measure("shared ObjectMapper.writeValueAsString",
+                () -> shared.writeValueAsString(body).getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertTrue(cachedWriter > perCall,
+                "Cached writer should outperform a mapper per write: " + cachedWriter + " vs " + perCall + " ops/ms");
+    }
+
+    @Test(groups = {"performance"})
+    public void testResponseBindingAllocations() throws Exception {
+        byte[] body = userResponseJson.getBytes(StandardCharsets.UTF_8);
+        ObjectReader reader = ObjectMapperProvider.userResponseReader();
+
+        // What parseUserResponse used to do: response.asString(), then parse the String
+        long viaString = allocatedBytesPerOperation("bind via String",
+                () -> reader.readValue(new String(body, StandardCharsets.UTF_8)));
+        long viaBytes = allocatedBytesPerOperation("bind from bytes",
+                () -> reader.readValue(body));
+
+        Assert.assertTrue(viaBytes < viaString,
+                "Binding from bytes should allocate less than via String: " + viaBytes + " vs " + viaString + " bytes/op");
+    }
+
+    /**
+     * Bytes allocated by the calling thread per operation, after warm-up
+     */
+    private long allocatedBytesPerOperation(String label, Callable<Object> operation) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Object sink = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = operation.call();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = operation.call();
+        }
+        long perOperation = (threads.getThreadAllocatedBytes(threadId) - before) / MEASURED_ITERATIONS;
+        Assert.assertNotNull(sink);
+        logger.info("{}: {} bytes/op", label, perOperation);
+        return perOperation;
+    }
+
+    /**
+     * Operations per millisecond after warm-up
+     */
+    private double measure(String label, Callable<Object> operation) throws Exception {
+        Object sink = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = operation.call();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = operation.call();
+        }
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+        Assert.assertNotNull(sink);
+        double opsPerMs = MEASURED_ITERATIONS / elapsedMs;
+        logger.info("{}: {} ops/ms", label, String.format("%.1f", opsPerMs));
+        return opsPerMs;
+    }
+}
@@ -2,15 +2,20 @@ package com.api.automation.performance;
 
 import com.api.automation.base.BaseTest;
 import com.api.automation.builders.ApiRequestBuilder;
+import com.api.automation.utils.DataFeeder;
 import com.api.automation.utils.ExtentReportManager;
+import com.api.automation.utils.TestDataManager;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.stream.IntStream;
 
@@ -21,6 +26,22 @@ import java.util.stream.IntStream;
 public class PerformanceTestSuite extends BaseTest {
     
     private static final Logger logger = LogManager.getLogger(PerformanceTestSuite.class);
+    private static final String TEST_DATA_FILE = "src/test/resources/testdata/test-data.json";
+    
+    private DataFeeder<Map<String, Object>> pageFeeder;
+    
+    @BeforeClass
+    public void setUpFeeders() {
+        pageFeeder = TestDataManager.getInstance()
+                .jsonFeeder(TEST_DATA_FILE, "/loadTest/pages", DataFeeder.Strategy.CIRCULAR);
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDownFeeders() {
+        if (pageFeeder != null) {
+            pageFeeder.close();
+        }
+    }
     
     @Test(groups = {"performance"}, priority = 1)
     public void testSingleUserResponseTime() {
@@ -94,7 +115,7 @@ public class PerformanceTestSuite extends BaseTest {
                 .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
                     return ApiRequestBuilder.create()
                             .withEndpoint("/api/users")
-                            .withQueryParam("page", String.valueOf((i % 2) + 1))
+                            .withQueryParam("page", String.valueOf(pageFeeder.next().get("page")))
                             .get();
                 }, executor))
                 .toList();
@@ -227,7 +248,7 @@ public class PerformanceTestSuite extends BaseTest {
             
             Response response = ApiRequestBuilder.create()
                     .withEndpoint("/api/users")
-                    .withQueryParam("page", String.valueOf((i % 2) + 1))
+                    .withQueryParam("page", String.valueOf(pageFeeder.next().get("page")))
                     .get();
             
             long responseTime = System.currentTimeMillis() - startTime;
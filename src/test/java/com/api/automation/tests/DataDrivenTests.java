@@ -4,15 +4,13 @@ import com.api.automation.base.BaseTest;
 import com.api.automation.utils.AssertionUtils;
 import com.api.automation.utils.JsonUtils;
 import com.api.automation.utils.TestDataFactory;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.api.automation.utils.TestDataManager;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
-import java.io.IOException;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 
 import static io.restassured.RestAssured.given;
@@ -27,33 +25,14 @@ public class DataDrivenTests extends BaseTest {
     private static final String TEST_DATA_FILE = "src/test/resources/testdata/test-data.json";
 
     @DataProvider(name = "userCreationData")
-    public Object[][] getUserCreationData() throws IOException {
-        String testDataJson = JsonUtils.readJsonFromFile(TEST_DATA_FILE);
-        ObjectMapper mapper = new ObjectMapper();
-        Map<String, Object> testData = mapper.readValue(testDataJson, new TypeReference<Map<String, Object>>(){});
-        
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> scenarios = (List<Map<String, Object>>) 
-            ((Map<String, Object>) testData.get("testScenarios")).get("userCreation");
-        
-        Object[][] data = new Object[scenarios.size()][3];
-        for (int i = 0; i < scenarios.size(); i++) {
-            Map<String, Object> scenario = scenarios.get(i);
-            data[i][0] = scenario.get("name");
-            data[i][1] = scenario.get("job");
-            data[i][2] = scenario.get("expectedStatus");
-        }
-        
-        return data;
+    public Iterator<Object[]> getUserCreationData() {
+        return TestDataManager.getInstance().jsonDataProvider(TEST_DATA_FILE, "/testScenarios/userCreation",
+                "name", "job", "expectedStatus");
     }
 
     @DataProvider(name = "randomUserData")
-    public Object[][] getRandomUserData() {
-        Object[][] data = new Object[3][1];
-        for (int i = 0; i < 3; i++) {
-            data[i][0] = TestDataFactory.generateRandomUser();
-        }
-        return data;
+    public Iterator<Object[]> getRandomUserData() {
+        return TestDataManager.getInstance().generatedDataProvider(3, TestDataFactory::generateRandomUser);
     }
 
     @Test(dataProvider = "userCreationData", groups = {"regression", "data-driven"})
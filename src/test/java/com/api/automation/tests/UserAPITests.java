@@ -1,6 +1,7 @@
 package com.api.automation.tests;
 
 import com.api.automation.base.BaseTest;
+import com.api.automation.utils.AssertionUtils;
 import com.api.automation.utils.JsonUtils;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
@@ -116,6 +117,7 @@ public class UserAPITests extends BaseTest {
         
         Assert.assertNotNull(userId, "User ID should be generated");
         Assert.assertNotNull(createdAt, "Creation timestamp should be present");
+        AssertionUtils.validateSnapshot(response, "users.createUser");
         
         logger.info("Successfully created user with ID: " + userId);
     }
@@ -0,0 +1,114 @@
+package com.api.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Unit tests for the canonical JSON fingerprint
+ */
+public class CanonicalJsonHasherTest {
+
+    private static final Set<String> MASKED = new HashSet<>(Arrays.asList("id", "createdAt"));
+
+    @Test(groups = {"unit"})
+    public void testKeyOrderAndWhitespaceDoNotMatter() {
+        String hash = CanonicalJsonHasher.hash("{\"a\":1,\"b\":{\"x\":\"y\",\"z\":[1,2]}}");
+        Assert.assertEquals(CanonicalJsonHasher.hash("{ \"b\" : { \"z\" : [ 1, 2 ], \"x\" : \"y\" },\n \"a\" : 1 }"), hash);
+        Assert.assertEquals(hash.length(), 32);
+    }
+
+    @Test(groups = {"unit"})
+    public void testNumbersHashByValue() {
+        String hash = CanonicalJsonHasher.hash("{\"n\":1,\"d\":2.5}");
+        Assert.assertEquals(CanonicalJsonHasher.hash("{\"n\":1.0,\"d\":2.50}"), hash);
+        Assert.assertEquals(CanonicalJsonHasher.hash("{\"n\":1e0,\"d\":25e-1}"), hash);
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("{\"n\":1,\"d\":2.51}"), hash);
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("{\"n\":\"1\",\"d\":2.5}"), hash, "A numeric string is not a number");
+    }
+
+    @Test(groups = {"unit"})
+    public void testArrayOrderCounts() {
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("[1,2,3]"), CanonicalJsonHasher.hash("[3,2,1]"));
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("{\"a\":[{\"k\":1},{\"k\":2}]}"),
+                CanonicalJsonHasher.hash("{\"a\":[{\"k\":2},{\"k\":1}]}"));
+    }
+
+    @Test(groups = {"unit"})
+    public void testStructureIsDistinguished() {
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("{\"a\":{\"b\":1}}"), CanonicalJsonHasher.hash("{\"a\":{},\"b\":1}"));
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("[[1],[2]]"), CanonicalJsonHasher.hash("[[1,2]]"));
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("{\"a\":null}"), CanonicalJsonHasher.hash("{}"));
+    }
+
+    @Test(groups = {"unit"})
+    public void testMaskedFieldsIgnoreTheirValue() {
+        String hash = CanonicalJsonHasher.hash("{\"id\":1,\"name\":\"x\",\"createdAt\":\"2024-01-01\"}", MASKED);
+        Assert.assertEquals(CanonicalJsonHasher.hash("{\"id\":\"abc\",\"name\":\"x\",\"createdAt\":{\"t\":1}}", MASKED), hash);
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("{\"id\":1,\"name\":\"y\",\"createdAt\":\"2024-01-01\"}", MASKED), hash);
+        // Masking applies at any depth, but a masked field must still be present and non-null
+        Assert.assertEquals(CanonicalJsonHasher.hash("{\"u\":[{\"id\":1}]}", MASKED),
+                CanonicalJsonHasher.hash("{\"u\":[{\"id\":2}]}", MASKED));
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("{\"name\":\"x\"}", MASKED),
+                CanonicalJsonHasher.hash("{\"id\":1,\"name\":\"x\"}", MASKED));
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("{\"id\":null}", MASKED),
+                CanonicalJsonHasher.hash("{\"id\":1}", MASKED));
+        // Without the mask set the values count
+        Assert.assertNotEquals(CanonicalJsonHasher.hash("{\"id\":1}"), CanonicalJsonHasher.hash("{\"id\":2}"));
+    }
+
+    @Test(groups = {"unit"})
+    public void testOverloadsAgree() {
+        String json = "{\"id\":7,\"tags\":[\"a\",\"\u00e9\"],\"ok\":true}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        String hash = CanonicalJsonHasher.hash(json);
+        Assert.assertEquals(CanonicalJsonHasher.hash(bytes), hash);
+        Assert.assertEquals(CanonicalJsonHasher.hash(json, Collections.emptySet()), hash);
+        Assert.assertEquals(CanonicalJsonHasher.hash(new ByteArrayInputStream(bytes), Collections.emptySet()), hash);
+        Assert.assertEquals(JsonUtils.canonicalHash(json), hash);
+        Assert.assertEquals(JsonUtils.canonicalHash(bytes), hash);
+        Assert.assertEquals(CanonicalJsonHasher.hash(bytes, MASKED), CanonicalJsonHasher.hash(json, MASKED));
+    }
+
+    @Test(groups = {"unit"})
+    public void testNormalizedSnapshotHashesLikeTheBody() {
+        SnapshotStore store = new SnapshotStore(Paths.get("target", "snapshot-hash-test"), MASKED, false, false);
+        String[] bodies = {
+                "{\"name\":\"John\",\"id\":\"42\",\"createdAt\":\"2024-05-01T10:00:00Z\",\"score\":1.50}",
+                "{\"data\":[{\"id\":1,\"email\":\"a@b.c\"},{\"id\":2,\"email\":null}],\"page\":1,\"total\":1e1}",
+                "[{\"createdAt\":null,\"nested\":{\"id\":{\"deep\":true}}},3,\"x\"]"
+        };
+        for (String body : bodies) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            Assert.assertEquals(CanonicalJsonHasher.hash(store.normalize(bytes), MASKED),
+                    CanonicalJsonHasher.hash(bytes, MASKED), "hash(normalize(body)) != hash(body) for " + body);
+        }
+    }
+
+    @Test(groups = {"unit"}, expectedExceptions = IllegalArgumentException.class)
+    public void testEmptyDocumentIsRejected() {
+        CanonicalJsonHasher.hash("");
+    }
+
+    @Test(groups = {"unit"}, expectedExceptions = IllegalArgumentException.class)
+    public void testTrailingValueIsRejected() {
+        CanonicalJsonHasher.hash("{\"a\":1} {\"b\":2}");
+    }
+
+    @Test(groups = {"unit"}, expectedExceptions = IllegalArgumentException.class)
+    public void testTrailingValueIsRejectedWhenMasked() {
+        CanonicalJsonHasher.hash("[1] [2]".getBytes(StandardCharsets.UTF_8), MASKED);
+    }
+
+    @Test(groups = {"unit"}, expectedExceptions = RuntimeException.class)
+    public void testTrailingGarbageIsRejected() {
+        CanonicalJsonHasher.hash("{\"a\":1} trailing");
+    }
+}
@@ -0,0 +1,106 @@
+package com.api.automation.utils;
+
+import com.api.automation.reporting.ChangePointDetector;
+import com.api.automation.reporting.TestAnalytics;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for change-point detection over seeded series with a known step change
+ */
+public class ChangePointDetectorTest {
+
+    private static List<Double> noisyStep(int before, int after, double low, double high, long seed) {
+        Random random = new Random(seed);
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < before + after; i++) {
+            values.add((i < before ? low : high) + random.nextGaussian() * 5);
+        }
+        return values;
+    }
+
+    private static List<String> builds(int count) {
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            labels.add("build-" + (100 + i));
+        }
+        return labels;
+    }
+
+    @Test(groups = {"unit"})
+    public void testStepChangeIsFlaggedAtTheShiftingBuild() {
+        List<Double> values = noisyStep(12, 8, 200, 260, 7L);
+        List<ChangePointDetector.ChangePoint> changePoints = new ChangePointDetector().detect(values, builds(20));
+
+        Assert.assertEquals(changePoints.size(), 1, "Exactly one shift expected");
+        ChangePointDetector.ChangePoint changePoint = changePoints.get(0);
+        Assert.assertEquals(changePoint.index, 12);
+        Assert.assertEquals(changePoint.build, "build-112");
+        Assert.assertEquals(changePoint.direction, "DEGRADING");
+        Assert.assertEquals(changePoint.meanBefore, 200, 5);
+        Assert.assertEquals(changePoint.meanAfter, 260, 5);
+        Assert.assertTrue(changePoint.pValue <= 0.05, "p=" + changePoint.pValue);
+    }
+
+    @Test(groups = {"unit"})
+    public void testStableSeriesHasNoChangePoint() {
+        Assert.assertTrue(new ChangePointDetector().detect(noisyStep(20, 0, 200, 200, 11L), null).isEmpty());
+        Assert.assertNull(new ChangePointDetector().detectLatest(Collections.nCopies(10, 5.0), null));
+    }
+
+    @Test(groups = {"unit"})
+    public void testSameSeedGivesSameResult() {
+        List<Double> values = noisyStep(10, 10, 100, 80, 3L);
+        ChangePointDetector.ChangePoint first = new ChangePointDetector(0.05, 500, 3, 9L).detectLatest(values, null);
+        ChangePointDetector.ChangePoint second = new ChangePointDetector(0.05, 500, 3, 9L).detectLatest(values, null);
+        Assert.assertNotNull(first);
+        Assert.assertEquals(first.direction, "IMPROVING");
+        Assert.assertEquals(second.index, first.index);
+        Assert.assertEquals(second.pValue, first.pValue);
+    }
+
+    @Test(groups = {"unit"})
+    public void testDeeperSplitsNeedStrongerEvidence() {
+        // Too few permutations to reach alpha / 2 at the second level: only the first split can be reported
+        List<Double> values = noisyStep(8, 8, 100, 200, 5L);
+        values.addAll(noisyStep(0, 8, 0, 300, 6L));
+        Assert.assertEquals(new ChangePointDetector(0.05, 30, 3, 1L).detect(values, null).size(), 1);
+        Assert.assertEquals(new ChangePointDetector(0.05, 1000, 3, 1L).detect(values, null).size(), 2);
+    }
+
+    @Test(groups = {"unit"})
+    public void testHistoryAcrossRunsFlagsTheShiftingBuild() throws IOException {
+        Path dir = Files.createDirectories(Paths.get("target", "analytics-history-test"));
+        Path history = dir.resolve("analytics-history.json");
+        Files.deleteIfExists(history);
+
+        // One run per build, a few samples each; latency steps up from build 7 on
+        Random random = new Random(21L);
+        for (int build = 1; build <= 12; build++) {
+            TestAnalytics analytics = new TestAnalytics();
+            analytics.setHistoryFile(history);
+            for (int sample = 0; sample < 3; sample++) {
+                double latency = (build < 7 ? 120 : 180) + random.nextGaussian() * 4;
+                analytics.recordEndpointLatency("/api/users", latency, "b" + build);
+            }
+            analytics.exportToJson(dir.resolve("analytics.json").toString());
+        }
+
+        TestAnalytics analytics = new TestAnalytics();
+        analytics.setHistoryFile(history);
+        Map<String, List<ChangePointDetector.ChangePoint>> regressions =
+                analytics.generateAnalyticsReport().latencyRegressions;
+        Assert.assertEquals(regressions.get("/api/users").size(), 1, regressions.toString());
+        Assert.assertEquals(regressions.get("/api/users").get(0).build, "b7");
+    }
+}
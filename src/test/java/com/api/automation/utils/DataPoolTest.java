@@ -0,0 +1,109 @@
+package com.api.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency tests for the pre-generated data pool
+ */
+public class DataPoolTest {
+
+    private static final int PRODUCERS = 3;
+    private static final int CONSUMERS = 6;
+    private static final int TAKES_PER_CONSUMER = 20_000;
+
+    @Test(groups = {"unit"})
+    public void testEmptyPoolGeneratesInline() {
+        AtomicLong generated = new AtomicLong();
+        DataPool<Long> pool = new DataPool<>("inline", 4, 0, generated::incrementAndGet);
+
+        Assert.assertEquals(pool.size(), 0);
+        Assert.assertEquals(pool.take(), Long.valueOf(1));
+        Assert.assertEquals(pool.getMissCount(), 1);
+        Assert.assertEquals(pool.getHitCount(), 0);
+
+        pool.prefill();
+        Assert.assertEquals(pool.size(), pool.getCapacity());
+        for (int i = 0; i < pool.getCapacity(); i++) {
+            Assert.assertEquals(pool.take(), Long.valueOf(i + 2), "Pooled items come out in order");
+        }
+        Assert.assertEquals(pool.getHitCount(), pool.getCapacity());
+        Assert.assertEquals(pool.size(), 0);
+        Assert.assertNotNull(pool.take());
+        Assert.assertEquals(pool.getMissCount(), 2);
+        pool.close();
+    }
+
+    @Test(groups = {"unit"})
+    public void testEveryItemIsTakenExactlyOnce() throws Exception {
+        AtomicLong generated = new AtomicLong();
+        DataPool<Long> pool = new DataPool<>("concurrent", 64, 16, generated::incrementAndGet);
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            // Producers race the background refill and the consumers on the same ring
+            List<Future<?>> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                producers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        pool.prefill();
+                    }
+                    return null;
+                }));
+            }
+            List<Future<List<Long>>> consumers = new ArrayList<>();
+            for (int c = 0; c < CONSUMERS; c++) {
+                consumers.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> taken = new ArrayList<>(TAKES_PER_CONSUMER);
+                    for (int i = 0; i < TAKES_PER_CONSUMER; i++) {
+                        taken.add(pool.take());
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+
+            List<Long> taken = new ArrayList<>();
+            for (Future<List<Long>> consumer : consumers) {
+                taken.addAll(consumer.get(60, TimeUnit.SECONDS));
+            }
+            for (Future<?> producer : producers) {
+                producer.get(60, TimeUnit.SECONDS);
+            }
+            Assert.assertEquals(pool.getHitCount() + pool.getMissCount(), (long) CONSUMERS * TAKES_PER_CONSUMER);
+            Assert.assertTrue(pool.getHitCount() > 0, "Some items came from the pool");
+
+            // Stop refilling, wait for an in-flight refill to settle, then drain what is left
+            pool.close();
+            long settled;
+            do {
+                settled = generated.get();
+                Thread.sleep(50);
+            } while (generated.get() != settled);
+            while (pool.size() > 0) {
+                taken.add(pool.take());
+            }
+
+            Set<Long> unique = new HashSet<>(taken);
+            Assert.assertEquals(unique.size(), taken.size(), "An item was handed out twice");
+            Assert.assertEquals(taken.size(), generated.get(), "An item was lost");
+            Assert.assertTrue(unique.contains(1L) && unique.contains(generated.get()));
+            Assert.assertTrue(taken.stream().allMatch(item -> item != null));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.api.automation.utils;
+
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Round-trip tests for compiled binary fixtures
+ */
+public class FixtureCompilerTest {
+
+    private static Path cleanDir(String name) throws IOException {
+        Path dir = Paths.get("target", name);
+        if (Files.exists(dir)) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        return Files.createDirectories(dir);
+    }
+
+    private static Map<String, Object> row(Object... keysAndValues) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            row.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return row;
+    }
+
+    @Test(groups = {"unit"})
+    public void testMixedAndNullValuesRoundTrip() throws IOException {
+        Date created = new Date(1714557600000L);
+        List<Map<String, Object>> rows = Arrays.asList(
+                row("id", 1, "score", 2, "name", "alice", "active", true, "mixed", 7,
+                        "tags", Arrays.asList("a", "b"), "created", created),
+                row("id", 5_000_000_000L, "score", 2.5, "name", null, "active", false, "mixed", "x",
+                        "tags", null, "created", null),
+                // Missing columns read back as null; a later new column is null for earlier rows
+                row("id", null, "name", "alice", "extra", "late"),
+                row("id", 3, "score", null, "name", "caf\u00e9", "mixed", row("k", 1)));
+
+        Path dir = cleanDir("fixture-roundtrip-test");
+        Path fixture = dir.resolve("rows.tdf");
+        FixtureCompiler.write(rows.iterator(), fixture);
+        FixtureTable table = FixtureTable.open(fixture);
+
+        Assert.assertEquals(table.getRowCount(), 4);
+        Assert.assertEquals(table.getColumnNames(),
+                Arrays.asList("id", "score", "name", "active", "mixed", "tags", "created", "extra"));
+
+        // int + long widens to long, int + double to double
+        Assert.assertEquals(table.getValue(0, "id"), 1L);
+        Assert.assertEquals(table.getValue(1, "id"), 5_000_000_000L);
+        Assert.assertNull(table.getValue(2, "id"));
+        Assert.assertEquals(table.getLong(3, "id"), 3L);
+        Assert.assertEquals(table.getValue(0, "score"), 2.0);
+        Assert.assertEquals(table.getDouble(1, "score"), 2.5);
+        Assert.assertNull(table.getValue(2, "score"));
+        Assert.assertNull(table.getValue(3, "score"));
+
+        // Strings are interned once and survive non-ASCII text
+        Assert.assertEquals(table.getString(0, "name"), "alice");
+        Assert.assertNull(table.getString(1, "name"));
+        Assert.assertEquals(table.getString(2, "name"), "alice");
+        Assert.assertEquals(table.getString(3, "name"), "caf\u00e9");
+
+        Assert.assertEquals(table.getValue(0, "active"), true);
+        Assert.assertEquals(table.getValue(1, "active"), false);
+        Assert.assertNull(table.getValue(2, "active"));
+
+        // Mixed types and nested values fall back to JSON
+        Assert.assertEquals(table.getValue(0, "mixed"), 7);
+        Assert.assertEquals(table.getValue(1, "mixed"), "x");
+        Assert.assertNull(table.getValue(2, "mixed"));
+        Assert.assertEquals(table.getValue(3, "mixed"), Collections.singletonMap("k", 1));
+        Assert.assertEquals(table.getValue(0, "tags"), Arrays.asList("a", "b"));
+        Assert.assertNull(table.getValue(1, "tags"));
+
+        Assert.assertEquals(table.getValue(0, "created"), created);
+        Assert.assertNull(table.getValue(1, "created"));
+        Assert.assertNull(table.getValue(0, "extra"));
+        Assert.assertEquals(table.getValue(2, "extra"), "late");
+        Assert.assertNull(table.getValue(0, "no_such_column"));
+
+        Map<String, Object> second = table.getRow(1);
+        Assert.assertNull(second.get("name"));
+        Assert.assertTrue(second.containsKey("name"));
+        Assert.assertEquals(second.get("id"), 5_000_000_000L);
+
+        int count = 0;
+        for (Iterator<Map<String, Object>> it = table.rows(); it.hasNext(); it.next()) {
+            count++;
+        }
+        Assert.assertEquals(count, 4);
+    }
+
+    @Test(groups = {"unit"})
+    public void testEmptyFixtureRoundTrips() throws IOException {
+        Path fixture = cleanDir("fixture-empty-test").resolve("empty.tdf");
+        FixtureCompiler.write(Collections.emptyIterator(), fixture);
+        FixtureTable table = FixtureTable.open(fixture);
+        Assert.assertEquals(table.getRowCount(), 0);
+        Assert.assertTrue(table.getColumnNames().isEmpty());
+        Assert.assertFalse(table.rows().hasNext());
+    }
+
+    @Test(groups = {"unit"})
+    public void testJsonAndExcelWithSameBaseNameKeepSeparateMarkers() throws IOException {
+        Path sources = cleanDir("fixture-marker-test/sources");
+        Path output = cleanDir("fixture-marker-test/fixtures");
+        Files.write(sources.resolve("test-data.json"),
+                "{\"users\":[{\"name\":\"a\"},{\"name\":\"b\"}]}".getBytes(StandardCharsets.UTF_8));
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             OutputStream out = Files.newOutputStream(sources.resolve("test-data.xlsx"))) {
+            XSSFSheet sheet = workbook.createSheet("Orders");
+            sheet.createRow(0).createCell(0).setCellValue("sku");
+            sheet.createRow(1).createCell(0).setCellValue("X-1");
+            workbook.write(out);
+        }
+
+        Assert.assertEquals(FixtureCompiler.compileStale(sources, output), 2);
+        Assert.assertTrue(Files.exists(output.resolve("test-data.json.compiled")));
+        Assert.assertTrue(Files.exists(output.resolve("test-data.xlsx.compiled")));
+        Assert.assertEquals(FixtureCompiler.compileStale(sources, output), 0, "Both sources are up to date");
+
+        // Recompiling one source leaves the other's fixtures alone
+        FixtureCompiler.compile(sources.resolve("test-data.json"), output);
+        Assert.assertTrue(Files.exists(output.resolve("test-data.users.tdf")));
+        Assert.assertTrue(Files.exists(output.resolve("test-data.Orders.tdf")));
+        Assert.assertEquals(FixtureTable.open(output.resolve("test-data.Orders.tdf")).getString(0, "sku"), "X-1");
+        Assert.assertEquals(FixtureTable.open(output.resolve("test-data.users.tdf")).getRowCount(), 2);
+    }
+}
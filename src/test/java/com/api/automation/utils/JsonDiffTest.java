@@ -0,0 +1,164 @@
+package com.api.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for the streaming structural JSON diff
+ */
+public class JsonDiffTest {
+
+    @Test(groups = {"unit"})
+    public void testIdenticalDocumentsMatch() {
+        String json = "{\"id\":1,\"tags\":[\"a\",\"b\"],\"owner\":{\"name\":\"x\"}}";
+        Assert.assertTrue(JsonDiff.compare(json, json, JsonDiff.Options.defaults()).isEmpty());
+        Assert.assertTrue(JsonDiff.matches(json, json, JsonDiff.Options.defaults()));
+    }
+
+    @Test(groups = {"unit"})
+    public void testDivergingFieldOrderMatches() {
+        String expected = "{\"a\":1,\"b\":{\"x\":true,\"y\":null},\"c\":[1,2]}";
+        String actual = "{\"c\":[1,2],\"b\":{\"y\":null,\"x\":true},\"a\":1}";
+        Assert.assertTrue(JsonDiff.compare(expected, actual, JsonDiff.Options.defaults()).isEmpty());
+    }
+
+    @Test(groups = {"unit"})
+    public void testDivergingFieldOrderStillReportsChangedField() {
+        List<JsonDiff.Difference> differences = JsonDiff.compare(
+                "{\"a\":1,\"b\":2,\"c\":3}", "{\"c\":3,\"a\":1,\"b\":5}", JsonDiff.Options.defaults());
+        Assert.assertEquals(differences.size(), 1, differences.toString());
+        Assert.assertEquals(differences.get(0).path, "/b");
+        Assert.assertEquals(differences.get(0).expected, "2");
+        Assert.assertEquals(differences.get(0).actual, "5");
+    }
+
+    @Test(groups = {"unit"})
+    public void testMissingAndExtraFields() {
+        List<JsonDiff.Difference> differences = JsonDiff.compare(
+                "{\"a\":1,\"b\":2}", "{\"a\":1,\"c\":2}", JsonDiff.Options.defaults());
+        Assert.assertEquals(differences.size(), 2, differences.toString());
+        Assert.assertTrue(differences.stream().anyMatch(d -> d.path.equals("/b") && d.actual.equals("<missing>")),
+                differences.toString());
+        Assert.assertTrue(differences.stream().anyMatch(d -> d.path.equals("/c") && d.expected.equals("<missing>")),
+                differences.toString());
+    }
+
+    @Test(groups = {"unit"})
+    public void testArrayLengthMismatch() {
+        List<JsonDiff.Difference> longer = JsonDiff.compare("[1,2]", "[1,2,3]", JsonDiff.Options.defaults());
+        Assert.assertEquals(longer.size(), 1, longer.toString());
+        Assert.assertEquals(longer.get(0).path, "/2");
+        Assert.assertEquals(longer.get(0).expected, "<missing>");
+
+        List<JsonDiff.Difference> shorter = JsonDiff.compare("{\"a\":[1,2,3]}", "{\"a\":[1]}", JsonDiff.Options.defaults());
+        Assert.assertEquals(shorter.size(), 2, shorter.toString());
+        Assert.assertEquals(shorter.get(0).path, "/a/1");
+        Assert.assertEquals(shorter.get(0).actual, "<missing>");
+    }
+
+    @Test(groups = {"unit"})
+    public void testArrayOrderMattersByDefault() {
+        Assert.assertFalse(JsonDiff.matches("[1,2,3]", "[3,2,1]", JsonDiff.Options.defaults()));
+    }
+
+    @Test(groups = {"unit"})
+    public void testUnorderedArrays() {
+        String expected = "{\"ids\":[1,2,2,3],\"users\":[{\"id\":1},{\"id\":2}]}";
+        String actual = "{\"ids\":[3,2,1,2],\"users\":[{\"id\":2},{\"id\":1}]}";
+        Assert.assertTrue(JsonDiff.matches(expected, actual, JsonDiff.Options.defaults().ignoreArrayOrder()));
+
+        // Only the listed array is unordered
+        JsonDiff.Options onlyIds = JsonDiff.Options.defaults().ignoreArrayOrder("/ids");
+        List<JsonDiff.Difference> differences = JsonDiff.compare(expected, actual, onlyIds);
+        Assert.assertFalse(differences.isEmpty());
+        Assert.assertTrue(differences.stream().allMatch(d -> d.path.startsWith("/users")), differences.toString());
+
+        // Multiplicity still counts
+        Assert.assertFalse(JsonDiff.matches("[1,2,2]", "[1,1,2]", JsonDiff.Options.defaults().ignoreArrayOrder()));
+    }
+
+    @Test(groups = {"unit"})
+    public void testIgnorePathWildcards() {
+        String expected = "{\"data\":[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}],\"meta\":{\"ts\":1}}";
+        String actual = "{\"data\":[{\"id\":7,\"name\":\"a\"},{\"id\":8,\"name\":\"b\"}],\"meta\":{\"ts\":2}}";
+        JsonDiff.Options options = JsonDiff.Options.defaults().ignorePaths("/data/*/id", "/meta/ts");
+        Assert.assertTrue(JsonDiff.compare(expected, actual, options).isEmpty());
+
+        // The wildcard covers one segment only: a changed name is still reported
+        String renamed = actual.replace("\"name\":\"b\"", "\"name\":\"c\"");
+        List<JsonDiff.Difference> differences = JsonDiff.compare(expected, renamed, options);
+        Assert.assertEquals(differences.size(), 1, differences.toString());
+        Assert.assertEquals(differences.get(0).path, "/data/1/name");
+    }
+
+    @Test(groups = {"unit"})
+    public void testNumericTolerance() {
+        Assert.assertFalse(JsonDiff.matches("{\"p\":1.00}", "{\"p\":1.004}", JsonDiff.Options.defaults()));
+        Assert.assertTrue(JsonDiff.matches("{\"p\":1.00}", "{\"p\":1.004}",
+                JsonDiff.Options.defaults().withNumericTolerance(0.01)));
+        Assert.assertFalse(JsonDiff.matches("{\"p\":1.00}", "{\"p\":1.02}",
+                JsonDiff.Options.defaults().withNumericTolerance(0.01)));
+    }
+
+    @Test(groups = {"unit"})
+    public void testNumbersCompareByValue() {
+        Assert.assertTrue(JsonDiff.matches("{\"n\":1}", "{\"n\":1.0}", JsonDiff.Options.defaults()));
+        Assert.assertTrue(JsonDiff.matches("[100]", "[1e2]", JsonDiff.Options.defaults()));
+        Assert.assertFalse(JsonDiff.matches("{\"n\":1}", "{\"n\":\"1\"}", JsonDiff.Options.defaults()));
+    }
+
+    @Test(groups = {"unit"})
+    public void testTopLevelArraysAndScalars() {
+        Assert.assertTrue(JsonDiff.matches("[{\"a\":1}]", "[{\"a\":1}]", JsonDiff.Options.defaults()));
+        Assert.assertTrue(JsonDiff.matches("\"x\"", "\"x\"", JsonDiff.Options.defaults()));
+        List<JsonDiff.Difference> differences = JsonDiff.compare("[1]", "{\"a\":1}", JsonDiff.Options.defaults());
+        Assert.assertEquals(differences.size(), 1, differences.toString());
+        Assert.assertEquals(differences.get(0).path, "");
+    }
+
+    @Test(groups = {"unit"})
+    public void testLimitShortCircuits() {
+        StringBuilder expected = new StringBuilder("[");
+        StringBuilder actual = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            expected.append(i == 0 ? "" : ",").append(i);
+            actual.append(i == 0 ? "" : ",").append(i + 1000);
+        }
+        // Unterminated after the differences: only a walk that stops early can succeed
+        String truncated = actual.toString();
+        expected.append(']');
+
+        List<JsonDiff.Difference> differences = JsonDiff.compare(expected.toString(), truncated,
+                JsonDiff.Options.defaults().withMaxDifferences(3));
+        Assert.assertEquals(differences.size(), 3);
+        Assert.assertEquals(differences.get(0).path, "/0");
+        Assert.assertFalse(JsonDiff.matches(expected.toString(), truncated, JsonDiff.Options.defaults()));
+        Assert.assertEquals(JsonDiff.compare(expected.toString(), actual.append(']').toString(),
+                JsonDiff.Options.defaults()).size(), 10, "Default limit is 10 differences");
+    }
+
+    @Test(groups = {"unit"})
+    public void testEmptyDocument() {
+        Assert.assertTrue(JsonDiff.compare("", "", JsonDiff.Options.defaults()).isEmpty());
+        List<JsonDiff.Difference> differences = JsonDiff.compare("", "{}", JsonDiff.Options.defaults());
+        Assert.assertEquals(differences.size(), 1);
+        Assert.assertEquals(differences.get(0).expected, "<empty>");
+    }
+
+    @Test(groups = {"unit"}, expectedExceptions = IllegalArgumentException.class)
+    public void testTrailingValueOnActualIsRejected() {
+        JsonDiff.compare("{\"a\":\"x\"}", "{\"a\":\"x\"} {\"b\":1}", JsonDiff.Options.defaults());
+    }
+
+    @Test(groups = {"unit"}, expectedExceptions = IllegalArgumentException.class)
+    public void testTrailingValueOnExpectedIsRejected() {
+        JsonDiff.matches("[1] [2]".getBytes(), "[1]".getBytes(), JsonDiff.Options.defaults());
+    }
+
+    @Test(groups = {"unit"}, expectedExceptions = RuntimeException.class)
+    public void testTrailingGarbageIsRejected() {
+        JsonDiff.compare("{\"a\":\"x\"}", "{\"a\":\"x\"} trailing", JsonDiff.Options.defaults());
+    }
+}
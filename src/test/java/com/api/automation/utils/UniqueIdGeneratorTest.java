@@ -0,0 +1,132 @@
+package com.api.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for unique ids and replayable iteration identities
+ */
+public class UniqueIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+
+    @AfterMethod(alwaysRun = true)
+    public void leaveIteration() {
+        TestDataRandom.endIteration();
+    }
+
+    @Test(groups = {"unit"})
+    public void testCounterIdsAreUniqueAcrossThreads() throws Exception {
+        UniqueIdGenerator generator = new UniqueIdGenerator(5, "example.com");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            for (int t = 0; t < THREADS; t++) {
+                System.arraycopy(futures.get(t).get(), 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+            }
+            Arrays.sort(all);
+            Assert.assertTrue(all[0] > 0, "Ids are positive");
+            for (int i = 1; i < all.length; i++) {
+                Assert.assertNotEquals(all[i], all[i - 1], "Duplicate id " + all[i]);
+            }
+            Assert.assertEquals(UniqueIdGenerator.shardOf(all[0]), 5);
+            Assert.assertEquals(UniqueIdGenerator.shardOf(all[all.length - 1]), 5);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void testKeysOutsideIterationsAreUniqueAcrossThreads() throws Exception {
+        UniqueIdGenerator generator = new UniqueIdGenerator(6, "example.com");
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        emails.add(generator.nextEmail());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(emails.size(), THREADS * 10_000);
+    }
+
+    @Test(groups = {"unit"})
+    public void testReplayRegeneratesTheIteration() {
+        UniqueIdGenerator generator = new UniqueIdGenerator(7, "example.com");
+
+        long seed = TestDataRandom.beginIteration(3, 11);
+        String name = TestDataRandom.faker().name().fullName();
+        long draw = TestDataRandom.current().nextLong();
+        List<String> firstRun = Arrays.asList(generator.nextEmail(), generator.nextUsername());
+        TestDataRandom.endIteration();
+        Assert.assertFalse(TestDataRandom.inIteration());
+
+        // Within a run the same iteration gets the same identities
+        Assert.assertEquals(TestDataRandom.beginIteration(3, 11), seed);
+        Assert.assertEquals(Arrays.asList(generator.nextEmail(), generator.nextUsername()), firstRun);
+
+        TestDataRandom.replay(seed);
+        Assert.assertEquals(TestDataRandom.faker().name().fullName(), name);
+        Assert.assertEquals(TestDataRandom.current().nextLong(), draw);
+        List<String> replayed = Arrays.asList(generator.nextEmail(), generator.nextUsername());
+
+        // Replayed keys depend on the seed only, so any later run regenerates them
+        TestDataRandom.replay(seed);
+        TestDataRandom.faker().name().fullName();
+        Assert.assertEquals(Arrays.asList(generator.nextEmail(), generator.nextUsername()), replayed);
+        Assert.assertNotEquals(replayed, firstRun, "A normal run salts keys with its nonce");
+
+        // A different shard or iteration gives different identities
+        TestDataRandom.replay(seed);
+        Assert.assertNotEquals(new UniqueIdGenerator(8, "example.com").nextEmail(), replayed.get(0));
+        TestDataRandom.replay(TestDataRandom.seedFor(3, 12));
+        Assert.assertNotEquals(generator.nextEmail(), replayed.get(0));
+    }
+
+    @Test(groups = {"unit"})
+    public void testEndIterationReturnsToCounterKeys() {
+        UniqueIdGenerator generator = new UniqueIdGenerator(9, "example.com");
+        TestDataRandom.beginIteration(1, 1);
+        Assert.assertTrue(TestDataRandom.inIteration());
+        TestDataRandom.endIteration();
+
+        Set<Integer> shards = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            String key = generator.nextUsername().substring("user_".length());
+            shards.add(UniqueIdGenerator.shardOf(Long.parseLong(key, 36)));
+        }
+        Assert.assertEquals(shards, new HashSet<>(Arrays.asList(9)), "Keys decode to counter ids of this shard");
+    }
+}
@@ -0,0 +1,25 @@
+-- Schema for the embedded test database (db.mode=embedded)
+-- Mirrors the tables the automation suite seeds and verifies
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email VARCHAR(255),
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    name VARCHAR(255),
+    job VARCHAR(255),
+    avatar VARCHAR(512),
+    created_by VARCHAR(50) DEFAULT 'automation_test',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
+
+CREATE TABLE IF NOT EXISTS user_sessions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    token VARCHAR(255),
+    created_by VARCHAR(50) DEFAULT 'automation_test',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_sessions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);